@@ -93,8 +93,8 @@ public final class FileUtils {
             // 是否实现了基类
             private boolean isBase = config instanceof BaseBean;
 
-            // 是否设置访问拦截名单
-            private boolean notSet = isBase && config instanceof FilterPath;
+            // 是否为访问拦截名单
+            private boolean isFilterPath = isBase && config instanceof FilterPath;
 
             @Override
             public void doSomething() {
@@ -110,10 +110,9 @@ public final class FileUtils {
                 if (root.containsKey(StringConsts.BOOT)) {
                     BootConfig.setConfig(root.getObject(StringConsts.BOOT, BootConfigProperties.class));
                 }
-                // 自动设置拦截名单
-                if (notSet) {
+                // 自动设置拦截名单，每次文件变化后重新编译
+                if (isFilterPath) {
                     BootConfig.setFilterPath((FilterPath) config);
-                    notSet = false;
                 }
                 fileWatcher.doSomething();
             }
@@ -0,0 +1,925 @@
+package org.code4everything.boot.base.collection;
+
+import cn.hutool.core.comparator.ComparatorException;
+import cn.hutool.core.util.ObjectUtil;
+import com.alibaba.fastjson.JSON;
+import org.code4everything.boot.base.bean.BaseBean;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * 按键范围分片的线程安全排序集合，适合多线程同时写入大量元素的排行榜等场景；允许存在比较结果相等的元素（按插入顺序排列）。<br>
+ * 每个分片是一个可索引跳表（每一层的指针都记录了跨过的元素数量），拥有独立的锁，写入不同键范围的线程互不阻塞；
+ * 分片元素数量超过容量时从中间拆分，拆分期间短暂地独占整个集合。按索引获取和查询索引时累加前面分片的元素数量，
+ * 时间复杂度为 O(n / 分片容量 + log 分片容量)，与其他分片的并发写入之间是弱一致的；{@link #getList()} 返回一致的快照
+ *
+ * @author pantao
+ * @since 1.1.6
+ */
+@ThreadSafe
+public final class ConcurrentSkipSortedList<E> implements BaseBean, Iterable<E> {
+
+    /**
+     * 默认的分片容量
+     *
+     * @since 1.1.6
+     */
+    private static final int DEFAULT_SHARD_CAPACITY = 1024;
+
+    /**
+     * 最大层数，元素数量在 2^32 以内时足够
+     *
+     * @since 1.1.6
+     */
+    private static final int MAX_LEVEL = 32;
+
+    /**
+     * 分片目录锁，读写元素时共享，拆分、合并分片和清空时独占
+     *
+     * @since 1.1.6
+     */
+    private final StampedLock directoryLock = new StampedLock();
+
+    /**
+     * 比较器
+     *
+     * @since 1.1.6
+     */
+    private final Comparator<E> comparator;
+
+    /**
+     * 分片容量，元素数量超过此值的分片会被拆分
+     *
+     * @since 1.1.6
+     */
+    private final int shardCapacity;
+
+    /**
+     * 按键范围排列的分片，只在持有目录写锁时替换
+     *
+     * @since 1.1.6
+     */
+    private volatile Shard[] shards = newDirectory();
+
+    /**
+     * 构造函数
+     *
+     * @param comparator 比较器
+     *
+     * @since 1.1.6
+     */
+    public ConcurrentSkipSortedList(Comparator<E> comparator) {
+        this(comparator, DEFAULT_SHARD_CAPACITY);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param comparator 比较器
+     * @param shardCapacity 分片容量，元素数量超过此值的分片会被拆分
+     *
+     * @since 1.1.6
+     */
+    public ConcurrentSkipSortedList(Comparator<E> comparator, int shardCapacity) {
+        if (Objects.isNull(comparator)) {
+            throw new ComparatorException("comparator must not be null");
+        }
+        if (shardCapacity < 2) {
+            throw new IllegalArgumentException("shard capacity must be greater than 1");
+        }
+        this.comparator = comparator;
+        this.shardCapacity = shardCapacity;
+    }
+
+    /**
+     * 构造排序列表
+     *
+     * @param comparator 比较器
+     * @param <E> 数据类型
+     *
+     * @return 排序列表
+     *
+     * @since 1.1.6
+     */
+    public static <E> ConcurrentSkipSortedList<E> of(Comparator<E> comparator) {
+        return new ConcurrentSkipSortedList<>(comparator);
+    }
+
+    /**
+     * 构造排序列表
+     *
+     * @param comparator 比较器
+     * @param shardCapacity 分片容量，元素数量超过此值的分片会被拆分
+     * @param <E> 数据类型
+     *
+     * @return 排序列表
+     *
+     * @since 1.1.6
+     */
+    public static <E> ConcurrentSkipSortedList<E> of(Comparator<E> comparator, int shardCapacity) {
+        return new ConcurrentSkipSortedList<>(comparator, shardCapacity);
+    }
+
+    /**
+     * 添加元素，排在比较结果相等的元素之后，只锁定元素所在的分片
+     *
+     * @param e 数据
+     *
+     * @since 1.1.6
+     */
+    public void add(E e) {
+        Objects.requireNonNull(e);
+        Shard shard;
+        boolean full;
+        long stamp = directoryLock.readLock();
+        try {
+            Shard[] directory = shards;
+            shard = directory[route(directory, e)];
+            long shardStamp = shard.lock.writeLock();
+            try {
+                shard.insert(e);
+                full = shard.size > shardCapacity;
+            } finally {
+                shard.lock.unlockWrite(shardStamp);
+            }
+        } finally {
+            directoryLock.unlockRead(stamp);
+        }
+        if (full) {
+            split(shard);
+        }
+    }
+
+    /**
+     * 添加元素，忽略空值
+     *
+     * @param e 数据
+     *
+     * @since 1.1.6
+     */
+    public void addIgnoreNull(E e) {
+        if (ObjectUtil.isNotNull(e)) {
+            add(e);
+        }
+    }
+
+    /**
+     * 添加所有数据，忽略空值，每个数据单独加锁，其他线程可能看到部分数据
+     *
+     * @param iterable {@link Iterable}
+     *
+     * @since 1.1.6
+     */
+    public void addAll(Iterable<E> iterable) {
+        for (E e : iterable) {
+            addIgnoreNull(e);
+        }
+    }
+
+    /**
+     * 添加一个已排序的列表，跳表插入本身为 O(log n)，与 {@link #addAll(Iterable)} 等价
+     *
+     * @param iterable 迭代器
+     *
+     * @since 1.1.6
+     */
+    public void addSorted(Iterable<E> iterable) {
+        addAll(iterable);
+    }
+
+    /**
+     * 删除一个与之相等的元素
+     *
+     * @param o 数据
+     *
+     * @return 是否删除成功
+     *
+     * @since 1.1.6
+     */
+    public boolean remove(E o) {
+        if (Objects.isNull(o)) {
+            return false;
+        }
+        Shard removed = null;
+        long stamp = directoryLock.readLock();
+        try {
+            Shard[] directory = shards;
+            int first = firstCandidate(directory, o);
+            for (int i = first; i < directory.length && Objects.isNull(removed); i++) {
+                if (!mayContain(directory, first, i, o)) {
+                    break;
+                }
+                Shard shard = directory[i];
+                long shardStamp = shard.lock.writeLock();
+                try {
+                    int index = shard.find(o);
+                    if (index >= 0) {
+                        shard.delete(index + 1);
+                        removed = shard;
+                    }
+                } finally {
+                    shard.lock.unlockWrite(shardStamp);
+                }
+            }
+        } finally {
+            directoryLock.unlockRead(stamp);
+        }
+        if (Objects.isNull(removed)) {
+            return false;
+        }
+        dropIfEmpty(removed);
+        return true;
+    }
+
+    /**
+     * 删除集合中存在的所有数据
+     *
+     * @param c 集合
+     *
+     * @return 是否删除成功
+     *
+     * @since 1.1.6
+     */
+    public boolean removeAll(Collection<E> c) {
+        boolean res = false;
+        for (E e : c) {
+            while (remove(e)) {
+                res = true;
+            }
+        }
+        return res;
+    }
+
+    /**
+     * 删除并返回第一个元素
+     *
+     * @return 第一个元素，列表为空时返回NULL
+     *
+     * @since 1.1.6
+     */
+    public E pollFirst() {
+        return poll(true);
+    }
+
+    /**
+     * 删除并返回最后一个元素
+     *
+     * @return 最后一个元素，列表为空时返回NULL
+     *
+     * @since 1.1.6
+     */
+    public E pollLast() {
+        return poll(false);
+    }
+
+    /**
+     * 获取第一个元素
+     *
+     * @return 第一个元素，列表为空时返回NULL
+     *
+     * @since 1.1.6
+     */
+    public E first() {
+        long stamp = directoryLock.readLock();
+        try {
+            for (Shard shard : shards) {
+                long shardStamp = shard.lock.readLock();
+                try {
+                    if (shard.size > 0) {
+                        return shard.head.next[0].value;
+                    }
+                } finally {
+                    shard.lock.unlockRead(shardStamp);
+                }
+            }
+            return null;
+        } finally {
+            directoryLock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * 获取最后一个元素
+     *
+     * @return 最后一个元素，列表为空时返回NULL
+     *
+     * @since 1.1.6
+     */
+    public E last() {
+        long stamp = directoryLock.readLock();
+        try {
+            Shard[] directory = shards;
+            for (int i = directory.length - 1; i >= 0; i--) {
+                Shard shard = directory[i];
+                long shardStamp = shard.lock.readLock();
+                try {
+                    if (shard.size > 0) {
+                        return shard.nodeAt(shard.size).value;
+                    }
+                } finally {
+                    shard.lock.unlockRead(shardStamp);
+                }
+            }
+            return null;
+        } finally {
+            directoryLock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * 获取指定索引位置的元素，时间复杂度为 O(n / 分片容量 + log 分片容量)
+     *
+     * @param index 索引
+     *
+     * @return 数据
+     *
+     * @since 1.1.6
+     */
+    public E get(int index) {
+        int offset = index;
+        int total = 0;
+        long stamp = directoryLock.readLock();
+        try {
+            for (Shard shard : shards) {
+                if (offset < 0) {
+                    break;
+                }
+                int skipped = shard.size;
+                if (offset >= skipped) {
+                    // 跳过前面的分片只读取元素数量，不加锁
+                    offset -= skipped;
+                    total += skipped;
+                    continue;
+                }
+                long shardStamp = shard.lock.readLock();
+                try {
+                    int size = shard.size;
+                    if (offset < size) {
+                        return shard.nodeAt(offset + 1).value;
+                    }
+                    offset -= size;
+                    total += size;
+                } finally {
+                    shard.lock.unlockRead(shardStamp);
+                }
+            }
+        } finally {
+            directoryLock.unlockRead(stamp);
+        }
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + total);
+    }
+
+    /**
+     * 获取第一个与之相等的元素的索引，时间复杂度为 O(n / 分片容量 + log 分片容量)（加上比较结果相等的元素数量）
+     *
+     * @param o 数据
+     *
+     * @return 索引，不存在时返回-1
+     *
+     * @since 1.1.6
+     */
+    public int indexOf(E o) {
+        if (Objects.isNull(o)) {
+            return -1;
+        }
+        long stamp = directoryLock.readLock();
+        try {
+            Shard[] directory = shards;
+            int first = firstCandidate(directory, o);
+            int offset = 0;
+            for (int i = 0; i < first; i++) {
+                offset += directory[i].size;
+            }
+            for (int i = first; i < directory.length && mayContain(directory, first, i, o); i++) {
+                Shard shard = directory[i];
+                long shardStamp = shard.lock.readLock();
+                try {
+                    int index = shard.find(o);
+                    if (index >= 0) {
+                        return offset + index;
+                    }
+                    offset += shard.size;
+                } finally {
+                    shard.lock.unlockRead(shardStamp);
+                }
+            }
+            return -1;
+        } finally {
+            directoryLock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * 列表大小，不加锁地累加各分片的元素数量
+     *
+     * @return 列表大小
+     *
+     * @since 1.1.6
+     */
+    public int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            size += shard.size;
+        }
+        return size;
+    }
+
+    /**
+     * 是否为空
+     *
+     * @return 是否为空
+     *
+     * @since 1.1.6
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * 清空所有数据
+     *
+     * @since 1.1.6
+     */
+    public void clear() {
+        long stamp = directoryLock.writeLock();
+        try {
+            shards = newDirectory();
+        } finally {
+            directoryLock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * 获取比较器
+     *
+     * @return 比较器
+     *
+     * @since 1.1.6
+     */
+    public Comparator<E> getComparator() {
+        return comparator;
+    }
+
+    /**
+     * 获取分片数量
+     *
+     * @return 分片数量
+     *
+     * @since 1.1.6
+     */
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    /**
+     * 获取数据快照（不可变集合），同时持有所有分片的读锁，因此快照是一致的
+     *
+     * @return 列表
+     *
+     * @since 1.1.6
+     */
+    public List<E> getList() {
+        long stamp = directoryLock.readLock();
+        try {
+            Shard[] directory = shards;
+            long[] stamps = new long[directory.length];
+            int locked = 0;
+            try {
+                int size = 0;
+                for (; locked < directory.length; locked++) {
+                    stamps[locked] = directory[locked].lock.readLock();
+                    size += directory[locked].size;
+                }
+                List<E> list = new ArrayList<>(size);
+                for (Shard shard : directory) {
+                    shard.copyTo(list);
+                }
+                return Collections.unmodifiableList(list);
+            } finally {
+                for (int i = 0; i < locked; i++) {
+                    directory[i].lock.unlockRead(stamps[i]);
+                }
+            }
+        } finally {
+            directoryLock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * 基于快照的迭代器，不会抛出 {@link ConcurrentModificationException}，删除时删除一个与当前元素相等的元素
+     *
+     * @return 迭代器
+     *
+     * @since 1.1.6
+     */
+    @Override
+    public Iterator<E> iterator() {
+        Iterator<E> iterator = getList().iterator();
+        return new Iterator<E>() {
+
+            private E current = null;
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public E next() {
+                current = iterator.next();
+                return current;
+            }
+
+            @Override
+            public void remove() {
+                if (Objects.isNull(current)) {
+                    throw new IllegalStateException();
+                }
+                ConcurrentSkipSortedList.this.remove(current);
+                current = null;
+            }
+        };
+    }
+
+    @Override
+    public boolean hasValue() {
+        return !isEmpty();
+    }
+
+    @Override
+    public String toJsonString(boolean pretty) {
+        return JSON.toJSONString(getList(), pretty);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Shard[] newDirectory() {
+        return (Shard[]) new ConcurrentSkipSortedList.Shard[]{new Shard(null)};
+    }
+
+    /**
+     * 删除并返回第一个或最后一个元素
+     *
+     * @param first 是否为第一个元素
+     *
+     * @return 元素，列表为空时返回NULL
+     *
+     * @since 1.1.6
+     */
+    private E poll(boolean first) {
+        Shard polled = null;
+        E value = null;
+        long stamp = directoryLock.readLock();
+        try {
+            Shard[] directory = shards;
+            for (int i = 0; i < directory.length && Objects.isNull(polled); i++) {
+                Shard shard = directory[first ? i : directory.length - 1 - i];
+                long shardStamp = shard.lock.writeLock();
+                try {
+                    if (shard.size > 0) {
+                        value = shard.delete(first ? 1 : shard.size);
+                        polled = shard;
+                    }
+                } finally {
+                    shard.lock.unlockWrite(shardStamp);
+                }
+            }
+        } finally {
+            directoryLock.unlockRead(stamp);
+        }
+        if (Objects.nonNull(polled)) {
+            dropIfEmpty(polled);
+        }
+        return value;
+    }
+
+    /**
+     * 新元素所在的分片：下界小于等于元素的最后一个分片，第一个分片没有下界
+     *
+     * @param directory 分片
+     * @param e 元素
+     *
+     * @return 分片的索引
+     *
+     * @since 1.1.6
+     */
+    private int route(Shard[] directory, E e) {
+        int low = 1;
+        int high = directory.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (comparator.compare(e, directory[mid].lower) >= 0) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high < 1 ? 0 : high;
+    }
+
+    /**
+     * 可能包含与之相等的元素的第一个分片：下界小于元素的最后一个分片，之前的分片中的元素都小于它
+     *
+     * @param directory 分片
+     * @param o 元素
+     *
+     * @return 分片的索引
+     *
+     * @since 1.1.6
+     */
+    private int firstCandidate(Shard[] directory, E o) {
+        int low = 1;
+        int high = directory.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (comparator.compare(o, directory[mid].lower) > 0) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high < 1 ? 0 : high;
+    }
+
+    /**
+     * 第一个候选分片之后的分片，只有下界与元素相等时才可能包含与之相等的元素（相等的元素被拆分到了两个分片中）
+     *
+     * @since 1.1.6
+     */
+    private boolean mayContain(Shard[] directory, int first, int index, E o) {
+        return index == first || comparator.compare(o, directory[index].lower) == 0;
+    }
+
+    /**
+     * 从中间拆分元素数量超过容量的分片，右半部分的第一个元素作为新分片的下界
+     *
+     * @param shard 分片
+     *
+     * @since 1.1.6
+     */
+    @SuppressWarnings("unchecked")
+    private void split(Shard shard) {
+        long stamp = directoryLock.writeLock();
+        try {
+            Shard[] directory = shards;
+            int index = indexOfShard(directory, shard);
+            if (index < 0 || shard.size <= shardCapacity) {
+                return;
+            }
+            List<E> values = new ArrayList<>(shard.size);
+            shard.copyTo(values);
+            int middle = values.size() / 2;
+            Shard left = new Shard(shard.lower);
+            Shard right = new Shard(values.get(middle));
+            for (int i = 0; i < values.size(); i++) {
+                (i < middle ? left : right).insert(values.get(i));
+            }
+            Shard[] replaced = (Shard[]) new ConcurrentSkipSortedList.Shard[directory.length + 1];
+            System.arraycopy(directory, 0, replaced, 0, index);
+            replaced[index] = left;
+            replaced[index + 1] = right;
+            System.arraycopy(directory, index + 1, replaced, index + 2, directory.length - index - 1);
+            shards = replaced;
+        } finally {
+            directoryLock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * 删除已经为空的分片（至少保留一个），避免反复删除后分片数量只增不减
+     *
+     * @param shard 分片
+     *
+     * @since 1.1.6
+     */
+    @SuppressWarnings("unchecked")
+    private void dropIfEmpty(Shard shard) {
+        if (shard.size > 0 || shards.length == 1) {
+            return;
+        }
+        long stamp = directoryLock.writeLock();
+        try {
+            Shard[] directory = shards;
+            int index = indexOfShard(directory, shard);
+            if (index < 0 || shard.size > 0 || directory.length == 1) {
+                return;
+            }
+            Shard[] replaced = (Shard[]) new ConcurrentSkipSortedList.Shard[directory.length - 1];
+            System.arraycopy(directory, 0, replaced, 0, index);
+            System.arraycopy(directory, index + 1, replaced, index, directory.length - index - 1);
+            shards = replaced;
+        } finally {
+            directoryLock.unlockWrite(stamp);
+        }
+    }
+
+    private int indexOfShard(Shard[] directory, Shard shard) {
+        for (int i = 0; i < directory.length; i++) {
+            if (directory[i] == shard) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 随机层数，每层的概率为上一层的一半
+     *
+     * @return 层数
+     *
+     * @since 1.1.6
+     */
+    private static int randomLevel() {
+        int random = ThreadLocalRandom.current().nextInt();
+        return Math.min(MAX_LEVEL, Integer.numberOfTrailingZeros(~random) + 1);
+    }
+
+    /**
+     * 分片，一个可索引跳表，修改时需持有目录读锁和分片写锁，读取时需持有目录读锁和分片读锁
+     *
+     * @since 1.1.6
+     */
+    private final class Shard {
+
+        private final StampedLock lock = new StampedLock();
+
+        /**
+         * 下界，分片中的元素都大于等于它，第一个分片的下界无意义
+         *
+         * @since 1.1.6
+         */
+        private final E lower;
+
+        /**
+         * 头节点，不保存数据，拥有所有层
+         *
+         * @since 1.1.6
+         */
+        private final Node<E> head = new Node<>(null, MAX_LEVEL);
+
+        /**
+         * 元素数量，在写锁中修改，可不加锁地读取
+         *
+         * @since 1.1.6
+         */
+        private volatile int size = 0;
+
+        private Shard(E lower) {
+            this.lower = lower;
+        }
+
+        /**
+         * 插入元素
+         *
+         * @param e 数据
+         *
+         * @since 1.1.6
+         */
+        @SuppressWarnings("unchecked")
+        private void insert(E e) {
+            Node<E>[] chain = new Node[MAX_LEVEL];
+            int[] steps = new int[MAX_LEVEL];
+            Node<E> node = head;
+            for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+                // 跳过比较结果小于等于的元素，相等的元素按插入顺序排列
+                while (Objects.nonNull(node.next[level]) && comparator.compare(node.next[level].value, e) <= 0) {
+                    steps[level] += node.width[level];
+                    node = node.next[level];
+                }
+                chain[level] = node;
+            }
+            int height = randomLevel();
+            Node<E> inserted = new Node<>(e, height);
+            int distance = 0;
+            for (int level = 0; level < height; level++) {
+                Node<E> prev = chain[level];
+                inserted.next[level] = prev.next[level];
+                prev.next[level] = inserted;
+                inserted.width[level] = prev.width[level] - distance;
+                prev.width[level] = distance + 1;
+                distance += steps[level];
+            }
+            for (int level = height; level < MAX_LEVEL; level++) {
+                chain[level].width[level]++;
+            }
+            size++;
+        }
+
+        /**
+         * 删除指定位置的元素
+         *
+         * @param position 位置，从1开始
+         *
+         * @return 删除的元素
+         *
+         * @since 1.1.6
+         */
+        @SuppressWarnings("unchecked")
+        private E delete(int position) {
+            Node<E>[] chain = new Node[MAX_LEVEL];
+            Node<E> node = head;
+            int pos = 0;
+            for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+                while (Objects.nonNull(node.next[level]) && pos + node.width[level] < position) {
+                    pos += node.width[level];
+                    node = node.next[level];
+                }
+                chain[level] = node;
+            }
+            Node<E> deleted = chain[0].next[0];
+            for (int level = 0; level < MAX_LEVEL; level++) {
+                Node<E> prev = chain[level];
+                if (level < deleted.next.length && prev.next[level] == deleted) {
+                    prev.width[level] += deleted.width[level] - 1;
+                    prev.next[level] = deleted.next[level];
+                } else {
+                    prev.width[level]--;
+                }
+            }
+            size--;
+            return deleted.value;
+        }
+
+        /**
+         * 获取指定位置的节点
+         *
+         * @param position 位置，从1开始，不能大于元素数量
+         *
+         * @return 节点
+         *
+         * @since 1.1.6
+         */
+        private Node<E> nodeAt(int position) {
+            Node<E> node = head;
+            int pos = 0;
+            for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+                while (Objects.nonNull(node.next[level]) && pos + node.width[level] <= position) {
+                    pos += node.width[level];
+                    node = node.next[level];
+                }
+            }
+            return node;
+        }
+
+        /**
+         * 查找第一个与之相等的元素在分片中的索引
+         *
+         * @param o 数据
+         *
+         * @return 索引，不存在时返回-1
+         *
+         * @since 1.1.6
+         */
+        private int find(E o) {
+            Node<E> node = head;
+            int pos = 0;
+            for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+                while (Objects.nonNull(node.next[level]) && comparator.compare(node.next[level].value, o) < 0) {
+                    pos += node.width[level];
+                    node = node.next[level];
+                }
+            }
+            // 从第一个比较结果相等的元素开始查找
+            for (node = node.next[0]; Objects.nonNull(node); node = node.next[0]) {
+                if (comparator.compare(o, node.value) != 0) {
+                    break;
+                }
+                if (o.equals(node.value)) {
+                    return pos;
+                }
+                pos++;
+            }
+            return -1;
+        }
+
+        private void copyTo(List<E> list) {
+            for (Node<E> node = head.next[0]; Objects.nonNull(node); node = node.next[0]) {
+                list.add(node.value);
+            }
+        }
+    }
+
+    /**
+     * 跳表节点，width[i] 为从当前节点沿第i层指针到下一个节点跨过的位置数
+     *
+     * @since 1.1.6
+     */
+    private static final class Node<E> {
+
+        private final E value;
+
+        private final Node<E>[] next;
+
+        private final int[] width;
+
+        @SuppressWarnings("unchecked")
+        private Node(E value, int height) {
+            this.value = value;
+            this.next = new Node[height];
+            this.width = new int[height];
+            Arrays.fill(width, 1);
+        }
+    }
+}
@@ -1,10 +1,9 @@
 package org.code4everything.boot.base.collection;
 
 import javax.annotation.concurrent.ThreadSafe;
-import java.util.Collection;
-import java.util.Comparator;
-import java.util.List;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.*;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
 
 /**
  * 线程安全的排序集合
@@ -16,11 +15,18 @@ import java.util.concurrent.locks.ReentrantLock;
 public final class ConcurrentSortedList<E, T extends List<E>> extends SortedList<E, T> {
 
     /**
-     * 重入锁
+     * 读写锁，写操作独占，读操作优先使用乐观读
      *
-     * @since 1.0.6
+     * @since 1.1.6
+     */
+    private final StampedLock stampedLock = new StampedLock();
+
+    /**
+     * 写时复制的快照，发生写操作后失效
+     *
+     * @since 1.1.6
      */
-    private final ReentrantLock reentrantLock = new ReentrantLock();
+    private volatile List<E> snapshot = null;
 
     /**
      * 无参构造函数
@@ -68,102 +74,239 @@ public final class ConcurrentSortedList<E, T extends List<E>> extends SortedList
         return new ConcurrentSortedList<>(list, comparator);
     }
 
+    /**
+     * 构造有界的线程安全排序列表，只保留排在最前面的 capacity 个数据
+     *
+     * @param list 数据源
+     * @param comparator 比较器
+     * @param capacity 最大容量
+     * @param <E> 数据类型
+     * @param <T> 数据源类型
+     *
+     * @return 线程安全的排序列表
+     *
+     * @since 1.1.6
+     */
+    public static <E, T extends List<E>> ConcurrentSortedList<E, T> ofBounded(T list, Comparator<E> comparator,
+                                                                              int capacity) {
+        ConcurrentSortedList<E, T> sortedList = new ConcurrentSortedList<>(list, comparator);
+        sortedList.setCapacity(capacity);
+        return sortedList;
+    }
+
     @Override
     public void resort() {
-        reentrantLock.lock();
-        super.resort();
-        reentrantLock.unlock();
+        write(super::resort);
     }
 
     @Override
     public void setList(T list, Comparator<E> comparator) {
-        reentrantLock.lock();
-        super.setList(list, comparator);
-        reentrantLock.unlock();
+        write(() -> super.setList(list, comparator));
     }
 
+    /**
+     * 获取数据源（不可变集合），返回的集合仍会随写操作变化，遍历时请使用 {@link #getSnapshot()}
+     *
+     * @return {@link T}
+     *
+     * @since 1.0.6
+     */
     @Override
     public T getList() {
-        reentrantLock.lock();
-        T t = super.getList();
-        reentrantLock.unlock();
-        return t;
+        return read(super::getList);
+    }
+
+    /**
+     * 获取写时复制的快照（不可变集合），在下一次写操作之前重复调用将返回同一个快照，适合读多写少时的遍历
+     *
+     * @return 快照
+     *
+     * @since 1.1.6
+     */
+    public List<E> getSnapshot() {
+        List<E> tmp = snapshot;
+        if (Objects.nonNull(tmp)) {
+            return tmp;
+        }
+        long stamp = stampedLock.readLock();
+        try {
+            // 持有读锁时不会有写操作，快照与数据源一致
+            tmp = Collections.unmodifiableList(new ArrayList<>(list));
+            snapshot = tmp;
+            return tmp;
+        } finally {
+            stampedLock.unlockRead(stamp);
+        }
     }
 
     @Override
     public void setList(T list) {
-        reentrantLock.lock();
-        super.setList(list);
-        reentrantLock.unlock();
+        write(() -> super.setList(list));
     }
 
     @Override
     public void addAll(Iterable<E> iterable) {
-        reentrantLock.lock();
-        super.addAll(iterable);
-        reentrantLock.unlock();
+        write(() -> super.addAll(iterable));
     }
 
     @Override
     public int add(E e) {
-        reentrantLock.lock();
-        int i = super.add(e);
-        reentrantLock.unlock();
-        return i;
+        Objects.requireNonNull(e);
+        // 有界且已满时，排在最后的数据无需加写锁即可拒绝
+        if (!isAcceptable(e)) {
+            return -1;
+        }
+        return write(() -> super.add(e));
     }
 
     @Override
     public boolean remove(Object o) {
-        reentrantLock.lock();
-        boolean res = list.remove(o);
-        reentrantLock.unlock();
-        return res;
+        return write(() -> list.remove(o));
     }
 
     @Override
     public boolean removeAll(Collection<E> c) {
-        reentrantLock.lock();
-        boolean res = list.removeAll(c);
-        reentrantLock.unlock();
-        return res;
+        return write(() -> list.removeAll(c));
     }
 
     @Override
     public boolean retainAll(Collection<E> c) {
-        reentrantLock.lock();
-        boolean res = list.retainAll(c);
-        reentrantLock.unlock();
-        return res;
+        return write(() -> list.retainAll(c));
     }
 
     @Override
     public void clear() {
-        reentrantLock.lock();
-        list.clear();
-        reentrantLock.unlock();
+        write(list::clear);
     }
 
     @Override
     public E remove(int index) {
-        reentrantLock.lock();
-        E e = list.remove(index);
-        reentrantLock.unlock();
-        return e;
+        return write(() -> list.remove(index));
     }
 
     @Override
     public void addSorted(Iterable<E> iterable) {
-        reentrantLock.lock();
-        super.addSorted(iterable);
-        reentrantLock.unlock();
+        write(() -> super.addSorted(iterable));
     }
 
     @Override
     public int addIgnoreNull(E e) {
-        reentrantLock.lock();
-        int i = super.addIgnoreNull(e);
-        reentrantLock.unlock();
-        return i;
+        if (Objects.isNull(e) || !isAcceptable(e)) {
+            return -1;
+        }
+        return write(() -> super.addIgnoreNull(e));
+    }
+
+    @Override
+    public void setCapacity(int capacity) {
+        write(() -> super.setCapacity(capacity));
+    }
+
+    @Override
+    public boolean isAcceptable(E e) {
+        return read(() -> super.isAcceptable(e));
+    }
+
+    @Override
+    public E get(int index) {
+        return read(() -> super.get(index));
+    }
+
+    @Override
+    public int indexOf(E e) {
+        return read(() -> super.indexOf(e));
+    }
+
+    @Override
+    public boolean contains(E e) {
+        return indexOf(e) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return read(super::size);
+    }
+
+    @Override
+    public boolean hasValue() {
+        return read(super::hasValue);
+    }
+
+    @Override
+    public String toJsonString(boolean pretty) {
+        return read(() -> super.toJsonString(pretty));
+    }
+
+    /**
+     * 独占写
+     *
+     * @param runnable 写操作
+     *
+     * @since 1.1.6
+     */
+    private void write(Runnable runnable) {
+        write(() -> {
+            runnable.run();
+            return null;
+        });
+    }
+
+    /**
+     * 独占写，写完成后使快照失效
+     *
+     * @param supplier 写操作
+     * @param <R> 返回值类型
+     *
+     * @return 写操作的返回值
+     *
+     * @since 1.1.6
+     */
+    private <R> R write(Supplier<R> supplier) {
+        long stamp = stampedLock.writeLock();
+        try {
+            return supplier.get();
+        } finally {
+            snapshot = null;
+            stampedLock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * 读操作，先尝试乐观读，期间发生写操作时再加读锁重试；非随机访问的列表直接加读锁
+     *
+     * @param supplier 读操作
+     * @param <R> 返回值类型
+     *
+     * @return 读操作的返回值
+     *
+     * @since 1.1.6
+     */
+    private <R> R read(Supplier<R> supplier) {
+        if (list instanceof RandomAccess) {
+            long stamp = stampedLock.tryOptimisticRead();
+            if (stamp != 0) {
+                R res = null;
+                RuntimeException ex = null;
+                try {
+                    res = supplier.get();
+                } catch (RuntimeException e) {
+                    // 读到了正在移动的数据，校验失败后重试
+                    ex = e;
+                }
+                if (stampedLock.validate(stamp)) {
+                    if (Objects.nonNull(ex)) {
+                        throw ex;
+                    }
+                    return res;
+                }
+            }
+        }
+        long stamp = stampedLock.readLock();
+        try {
+            return supplier.get();
+        } finally {
+            stampedLock.unlockRead(stamp);
+        }
     }
 
     /**
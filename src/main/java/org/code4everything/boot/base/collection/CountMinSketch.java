@@ -0,0 +1,146 @@
+package org.code4everything.boot.base.collection;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-Min Sketch 频率估算<br>使用固定大小的内存估算任意多个键的出现次数，估算值只会偏大不会偏小，计数通过CAS无锁累加
+ *
+ * @author pantao
+ * @since 1.1.6
+ */
+@ThreadSafe
+public final class CountMinSketch {
+
+    /**
+     * 计数表，共 {@link #depth} 行，每行 {@link #width} 列
+     *
+     * @since 1.1.6
+     */
+    private final AtomicLongArray table;
+
+    /**
+     * 列数（2的幂）
+     *
+     * @since 1.1.6
+     */
+    private final int width;
+
+    /**
+     * 行数
+     *
+     * @since 1.1.6
+     */
+    private final int depth;
+
+    /**
+     * 构造函数
+     *
+     * @param width 每行的计数器数量，会向上取整到2的幂
+     * @param depth 行数（哈希函数个数）
+     *
+     * @since 1.1.6
+     */
+    public CountMinSketch(int width, int depth) {
+        if (width <= 0 || depth <= 0) {
+            throw new IllegalArgumentException("width and depth must be greater than zero");
+        }
+        this.width = width == 1 ? 1 : Integer.highestOneBit(Math.min(width - 1, 1 << 29)) << 1;
+        this.depth = depth;
+        this.table = new AtomicLongArray(this.width * depth);
+    }
+
+    /**
+     * 累加计数
+     *
+     * @param hash 键的哈希值
+     * @param delta 增量
+     *
+     * @return 累加后的估算值
+     *
+     * @since 1.1.6
+     */
+    public long add(int hash, long delta) {
+        int h1 = spread(hash);
+        int h2 = spread(h1) | 1;
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < depth; i++) {
+            min = Math.min(min, table.addAndGet(index(h1, h2, i), delta));
+        }
+        return min;
+    }
+
+    /**
+     * 估算计数
+     *
+     * @param hash 键的哈希值
+     *
+     * @return 估算值
+     *
+     * @since 1.1.6
+     */
+    public long estimate(int hash) {
+        int h1 = spread(hash);
+        int h2 = spread(h1) | 1;
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < depth; i++) {
+            min = Math.min(min, table.get(index(h1, h2, i)));
+        }
+        return min;
+    }
+
+    /**
+     * 将所有计数减半，用于让旧的访问频率逐渐衰减
+     *
+     * @since 1.1.6
+     */
+    public void halve() {
+        for (int i = 0; i < table.length(); i++) {
+            long value;
+            do {
+                value = table.get(i);
+            } while (!table.compareAndSet(i, value, value >>> 1));
+        }
+    }
+
+    /**
+     * 清空所有计数
+     *
+     * @since 1.1.6
+     */
+    public void clear() {
+        for (int i = 0; i < table.length(); i++) {
+            table.set(i, 0);
+        }
+    }
+
+    /**
+     * 计算计数器位置（双重哈希）
+     *
+     * @param h1 第一个哈希值
+     * @param h2 第二个哈希值
+     * @param row 行
+     *
+     * @return 计数器位置
+     *
+     * @since 1.1.6
+     */
+    private int index(int h1, int h2, int row) {
+        return row * width + ((h1 + row * h2) & (width - 1));
+    }
+
+    /**
+     * 打散哈希值
+     *
+     * @param hash 哈希值
+     *
+     * @return 打散后的哈希值
+     *
+     * @since 1.1.6
+     */
+    private static int spread(int hash) {
+        hash = (hash ^ (hash >>> 16)) * 0x45d9f3b;
+        hash = (hash ^ (hash >>> 16)) * 0x45d9f3b;
+        return hash ^ (hash >>> 16);
+    }
+}
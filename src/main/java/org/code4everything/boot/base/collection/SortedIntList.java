@@ -0,0 +1,476 @@
+package org.code4everything.boot.base.collection;
+
+import com.alibaba.fastjson.JSON;
+import org.code4everything.boot.base.bean.BaseBean;
+
+import javax.annotation.concurrent.NotThreadSafe;
+import java.util.Arrays;
+
+/**
+ * int 类型的排序集合<br>使用可扩容的基本类型数组存储数据，避免装箱，内存占用更小且二分查找对缓存更友好
+ *
+ * @author pantao
+ * @since 1.1.6
+ */
+@NotThreadSafe
+public class SortedIntList implements BaseBean {
+
+    /**
+     * 默认容量
+     *
+     * @since 1.1.6
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * 是否降序排列
+     *
+     * @since 1.1.6
+     */
+    private final boolean reverse;
+
+    /**
+     * 数据源
+     *
+     * @since 1.1.6
+     */
+    private int[] elements;
+
+    /**
+     * 数据量
+     *
+     * @since 1.1.6
+     */
+    private int size = 0;
+
+    /**
+     * 构造函数，升序排列
+     *
+     * @since 1.1.6
+     */
+    public SortedIntList() {
+        this(DEFAULT_CAPACITY, false);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param capacity 初始容量
+     * @param reverse 是否降序排列
+     *
+     * @since 1.1.6
+     */
+    public SortedIntList(int capacity, boolean reverse) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must not be negative");
+        }
+        this.elements = new int[capacity];
+        this.reverse = reverse;
+    }
+
+    /**
+     * 构造升序排列的排序列表
+     *
+     * @param values 数据
+     *
+     * @return 排序列表
+     *
+     * @since 1.1.6
+     */
+    public static SortedIntList of(int... values) {
+        SortedIntList list = new SortedIntList(Math.max(DEFAULT_CAPACITY, values.length), false);
+        list.addAll(values);
+        return list;
+    }
+
+    /**
+     * 构造降序排列的排序列表
+     *
+     * @param values 数据
+     *
+     * @return 排序列表
+     *
+     * @since 1.1.6
+     */
+    public static SortedIntList ofReverse(int... values) {
+        SortedIntList list = new SortedIntList(Math.max(DEFAULT_CAPACITY, values.length), true);
+        list.addAll(values);
+        return list;
+    }
+
+    /**
+     * 添加数据
+     *
+     * @param value 数据
+     *
+     * @return 添加后数据的索引位置
+     *
+     * @since 1.1.6
+     */
+    public int add(int value) {
+        // 相等时排在已有数据之后
+        int index = upperBound(value);
+        ensureCapacity(size + 1);
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = value;
+        size++;
+        return index;
+    }
+
+    /**
+     * 添加所有数据，先排序再从尾部向前归并，时间复杂度为 O(m log m + n)
+     *
+     * @param values 数据
+     *
+     * @since 1.1.6
+     */
+    public void addAll(int... values) {
+        if (values.length == 0) {
+            return;
+        }
+        int[] batch = values.clone();
+        Arrays.sort(batch);
+        if (reverse) {
+            reverseArray(batch);
+        }
+        ensureCapacity(size + batch.length);
+        int i = size - 1;
+        int j = batch.length - 1;
+        int k = size + batch.length - 1;
+        while (j >= 0) {
+            if (i >= 0 && compare(batch[j], elements[i]) < 0) {
+                elements[k--] = elements[i--];
+            } else {
+                elements[k--] = batch[j--];
+            }
+        }
+        size += batch.length;
+    }
+
+    /**
+     * 删除第一个与之相等的数据
+     *
+     * @param value 数据
+     *
+     * @return 是否删除成功
+     *
+     * @since 1.1.6
+     */
+    public boolean remove(int value) {
+        int index = indexOf(value);
+        if (index < 0) {
+            return false;
+        }
+        removeAt(index);
+        return true;
+    }
+
+    /**
+     * 删除指定索引位置的数据
+     *
+     * @param index 索引
+     *
+     * @return 数据
+     *
+     * @since 1.1.6
+     */
+    public int removeAt(int index) {
+        checkIndex(index);
+        int value = elements[index];
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        size--;
+        return value;
+    }
+
+    /**
+     * 获取指定索引位置的数据
+     *
+     * @param index 索引
+     *
+     * @return 数据
+     *
+     * @since 1.1.6
+     */
+    public int get(int index) {
+        checkIndex(index);
+        return elements[index];
+    }
+
+    /**
+     * 使用二分查找获取第一个与之相等的数据的索引
+     *
+     * @param value 数据
+     *
+     * @return 索引，不存在时返回-1
+     *
+     * @since 1.1.6
+     */
+    public int indexOf(int value) {
+        int index = lowerBound(value);
+        return index < size && compare(elements[index], value) == 0 ? index : -1;
+    }
+
+    /**
+     * 是否包含数据
+     *
+     * @param value 数据
+     *
+     * @return 是否包含
+     *
+     * @since 1.1.6
+     */
+    public boolean contains(int value) {
+        return indexOf(value) >= 0;
+    }
+
+    /**
+     * 统计值在 [from, to] 之间的数据量
+     *
+     * @param from 开始值（包含）
+     * @param to 结束值（包含）
+     *
+     * @return 数据量
+     *
+     * @since 1.1.6
+     */
+    public int countBetween(int from, int to) {
+        int[] range = rangeOf(from, to);
+        return range[1] - range[0];
+    }
+
+    /**
+     * 获取值在 [from, to] 之间的数据，按当前的排列顺序
+     *
+     * @param from 开始值（包含）
+     * @param to 结束值（包含）
+     *
+     * @return 数据
+     *
+     * @since 1.1.6
+     */
+    public int[] subRange(int from, int to) {
+        int[] range = rangeOf(from, to);
+        return Arrays.copyOfRange(elements, range[0], range[1]);
+    }
+
+    /**
+     * 获取第一个数据
+     *
+     * @return 第一个数据
+     *
+     * @since 1.1.6
+     */
+    public int first() {
+        return get(0);
+    }
+
+    /**
+     * 获取最后一个数据
+     *
+     * @return 最后一个数据
+     *
+     * @since 1.1.6
+     */
+    public int last() {
+        return get(size - 1);
+    }
+
+    /**
+     * 列表大小
+     *
+     * @return 列表大小
+     *
+     * @since 1.1.6
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 是否为空
+     *
+     * @return 是否为空
+     *
+     * @since 1.1.6
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 是否降序排列
+     *
+     * @return 是否降序排列
+     *
+     * @since 1.1.6
+     */
+    public boolean isReverse() {
+        return reverse;
+    }
+
+    /**
+     * 清空所有数据
+     *
+     * @since 1.1.6
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * 释放多余的容量
+     *
+     * @since 1.1.6
+     */
+    public void trimToSize() {
+        if (elements.length > size) {
+            elements = Arrays.copyOf(elements, size);
+        }
+    }
+
+    /**
+     * 转换成数组
+     *
+     * @return 数组
+     *
+     * @since 1.1.6
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    @Override
+    public boolean hasValue() {
+        return size > 0;
+    }
+
+    @Override
+    public String toJsonString(boolean pretty) {
+        return JSON.toJSONString(toArray(), pretty);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    /**
+     * 按当前的排列顺序比较
+     *
+     * @param v1 数据1
+     * @param v2 数据2
+     *
+     * @return 比较结果
+     *
+     * @since 1.1.6
+     */
+    private int compare(int v1, int v2) {
+        return reverse ? Integer.compare(v2, v1) : Integer.compare(v1, v2);
+    }
+
+    /**
+     * 查找第一个不排在指定数据之前的索引位置
+     *
+     * @param value 数据
+     *
+     * @return 索引位置
+     *
+     * @since 1.1.6
+     */
+    private int lowerBound(int value) {
+        int start = 0;
+        int end = size - 1;
+        while (start <= end) {
+            int mid = (start + end) >>> 1;
+            if (compare(elements[mid], value) < 0) {
+                start = mid + 1;
+            } else {
+                end = mid - 1;
+            }
+        }
+        return start;
+    }
+
+    /**
+     * 查找第一个排在指定数据之后的索引位置
+     *
+     * @param value 数据
+     *
+     * @return 索引位置
+     *
+     * @since 1.1.6
+     */
+    private int upperBound(int value) {
+        int start = 0;
+        int end = size - 1;
+        while (start <= end) {
+            int mid = (start + end) >>> 1;
+            if (compare(elements[mid], value) <= 0) {
+                start = mid + 1;
+            } else {
+                end = mid - 1;
+            }
+        }
+        return start;
+    }
+
+    /**
+     * 获取值在 [from, to] 之间的索引范围
+     *
+     * @param from 开始值
+     * @param to 结束值
+     *
+     * @return 索引范围 [开始索引（包含）, 结束索引（不包含）]
+     *
+     * @since 1.1.6
+     */
+    private int[] rangeOf(int from, int to) {
+        int min = Integer.compare(from, to) <= 0 ? from : to;
+        int max = Integer.compare(from, to) <= 0 ? to : from;
+        int start = lowerBound(reverse ? max : min);
+        int end = upperBound(reverse ? min : max);
+        return new int[]{start, Math.max(start, end)};
+    }
+
+    /**
+     * 确保容量足够
+     *
+     * @param capacity 最小容量
+     *
+     * @since 1.1.6
+     */
+    private void ensureCapacity(int capacity) {
+        if (capacity > elements.length) {
+            int newCapacity = Math.max(capacity, elements.length + (elements.length >> 1) + 1);
+            elements = Arrays.copyOf(elements, newCapacity);
+        }
+    }
+
+    /**
+     * 检查索引
+     *
+     * @param index 索引
+     *
+     * @since 1.1.6
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    /**
+     * 反转数组
+     *
+     * @param array 数组
+     *
+     * @since 1.1.6
+     */
+    private static void reverseArray(int[] array) {
+        for (int i = 0, j = array.length - 1; i < j; i++, j--) {
+            int tmp = array[i];
+            array[i] = array[j];
+            array[j] = tmp;
+        }
+    }
+}
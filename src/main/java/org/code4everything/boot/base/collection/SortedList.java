@@ -19,6 +19,13 @@ import java.util.concurrent.PriorityBlockingQueue;
 @NotThreadSafe
 public class SortedList<E, T extends List<E>> implements BaseBean {
 
+    /**
+     * 批量添加时使用归并的最小数量，数量较少时逐个二分插入更快
+     *
+     * @since 1.1.6
+     */
+    private static final int MERGE_THRESHOLD = 32;
+
     /**
      * 数据源
      *
@@ -33,6 +40,13 @@ public class SortedList<E, T extends List<E>> implements BaseBean {
      */
     private Comparator<E> comparator;
 
+    /**
+     * 最大容量，超出时淘汰排在最后的数据
+     *
+     * @since 1.1.6
+     */
+    private int capacity = Integer.MAX_VALUE;
+
     /**
      * 无参构造函数
      *
@@ -95,6 +109,25 @@ public class SortedList<E, T extends List<E>> implements BaseBean {
         return new ConcurrentSortedList<>(list, comparator);
     }
 
+    /**
+     * 构造有界的排序列表，只保留排在最前面的 capacity 个数据
+     *
+     * @param list 数据源
+     * @param comparator 比较器
+     * @param capacity 最大容量
+     * @param <E> 数据类型
+     * @param <T> 数据源类型
+     *
+     * @return 排序列表
+     *
+     * @since 1.1.6
+     */
+    public static <E, T extends List<E>> SortedList<E, T> ofBounded(T list, Comparator<E> comparator, int capacity) {
+        SortedList<E, T> sortedList = new SortedList<>(list, comparator);
+        sortedList.setCapacity(capacity);
+        return sortedList;
+    }
+
     /**
      * 转换成排序列表
      *
@@ -110,16 +143,16 @@ public class SortedList<E, T extends List<E>> implements BaseBean {
      */
     public static <E, T extends List<E>> T sortTo(Queue<E> queue, T list, Comparator<E> comparator) {
         if (queue instanceof PriorityQueue || queue instanceof PriorityBlockingQueue) {
-            int size = list.size();
-            // 从最后一个元素开始将List中数据清空，并插入到有序的队列中
-            while (size > 0) {
-                queue.offer(list.remove(--size));
-            }
-            int len = queue.size();
-            // 从有序队列中取出元素放入List中
-            while (len-- > 0) {
-                list.add(queue.poll());
-            }
+            // 按队列的出队顺序排序，先排序列表（已有序时为线性时间），再与依次出队的数据归并
+            Comparator<? super E> queueComparator = queue instanceof PriorityQueue ?
+                    ((PriorityQueue<E>) queue).comparator() : ((PriorityBlockingQueue<E>) queue).comparator();
+            Comparator<? super E> order = Objects.isNull(queueComparator) ? naturalOrder() : queueComparator;
+            list.sort(order);
+            Iterator<E> polling = SortedMergeIterator.polling(queue);
+            List<E> merged = SortedMergeIterator.ofIterators(order, list.iterator(), polling)
+                    .mergeTo(new ArrayList<>(list.size() + queue.size()));
+            list.clear();
+            list.addAll(merged);
         } else {
             // 不是有序队列时，使用排序方法
             SortedList.of(list, comparator).addAll(queue);
@@ -127,27 +160,54 @@ public class SortedList<E, T extends List<E>> implements BaseBean {
         return list;
     }
 
+    /**
+     * 自然排序的比较器
+     *
+     * @param <E> 数据类型
+     *
+     * @return 比较器
+     *
+     * @since 1.1.6
+     */
+    @SuppressWarnings("unchecked")
+    private static <E> Comparator<E> naturalOrder() {
+        return (e1, e2) -> ((Comparable<? super E>) e1).compareTo(e2);
+    }
+
     /**
      * 重排序
      *
      * @since 1.1.2
      */
     public void resort() {
-        checkComparator();
-        list.sort(comparator);
+        sortList(list);
     }
 
     /**
-     * 添加所有数据，忽略空值
+     * 添加所有数据，忽略空值，数据较多时先排序再与列表归并
      *
      * @param iterable {@link Iterable}
      *
      * @since 1.0.6
      */
     public void addAll(Iterable<E> iterable) {
-        // 遍历并将所有元素有序地加入到List中
+        List<E> batch = new ArrayList<>(iterable instanceof Collection ? ((Collection<E>) iterable).size() : 16);
         for (E e : iterable) {
-            addIgnoreNull(e);
+            if (ObjectUtil.isNotNull(e)) {
+                batch.add(e);
+            }
+        }
+        if (shouldMerge(batch.size())) {
+            checkComparator();
+            batch.sort(comparator);
+            // 有界时只有排在最前面的 capacity 个数据可能被保留
+            merge(batch.size() > capacity ? batch.subList(0, capacity) : batch);
+            trimToCapacity();
+            return;
+        }
+        // 遍历并将所有元素有序地加入到List中
+        for (E e : batch) {
+            add(e, 0);
         }
     }
 
@@ -156,13 +216,13 @@ public class SortedList<E, T extends List<E>> implements BaseBean {
      *
      * @param e 数据
      *
-     * @return 添加后元素的索引位置
+     * @return 添加后元素的索引位置，超出容量被拒绝时返回-1
      *
      * @since 1.0.6
      */
     public int add(E e) {
         Objects.requireNonNull(e);
-        return addIgnoreNull(e);
+        return add(e, 0);
     }
 
     /**
@@ -231,7 +291,7 @@ public class SortedList<E, T extends List<E>> implements BaseBean {
      *
      * @param e 数据
      *
-     * @return 添加后元素的索引位置
+     * @return 添加后元素的索引位置，空值或超出容量被拒绝时返回-1
      *
      * @since 1.0.6
      */
@@ -242,6 +302,60 @@ public class SortedList<E, T extends List<E>> implements BaseBean {
         return -1;
     }
 
+    /**
+     * 获取指定索引位置的数据
+     *
+     * @param index 索引
+     *
+     * @return 数据
+     *
+     * @since 1.1.6
+     */
+    public E get(int index) {
+        return list.get(index);
+    }
+
+    /**
+     * 使用二分查找获取第一个与之相等的数据的索引
+     *
+     * @param e 数据
+     *
+     * @return 索引，不存在时返回-1
+     *
+     * @since 1.1.6
+     */
+    public int indexOf(E e) {
+        if (Objects.isNull(e)) {
+            return -1;
+        }
+        checkComparator();
+        int size = list.size();
+        // 比较结果相等的数据可能有多个，从第一个开始查找
+        for (int i = lowerBound(e); i < size; i++) {
+            E o = list.get(i);
+            if (comparator.compare(e, o) != 0) {
+                break;
+            }
+            if (e.equals(o)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 是否包含数据
+     *
+     * @param e 数据
+     *
+     * @return 是否包含
+     *
+     * @since 1.1.6
+     */
+    public boolean contains(E e) {
+        return indexOf(e) >= 0;
+    }
+
     /**
      * 列表大小
      *
@@ -265,6 +379,14 @@ public class SortedList<E, T extends List<E>> implements BaseBean {
      */
     private int add(E e, int start) {
         checkComparator();
+        int size = list.size();
+        if (size >= capacity) {
+            // 已满时只需和最后一个数据比较一次，排在其后则直接拒绝
+            if (size == 0 || comparator.compare(e, list.get(size - 1)) >= 0) {
+                return -1;
+            }
+            list.remove(size - 1);
+        }
         // 使用二分策略查找元素应插入的位置
         int end = list.size() - 1;
         while (start <= end) {
@@ -281,6 +403,29 @@ public class SortedList<E, T extends List<E>> implements BaseBean {
         return start;
     }
 
+    /**
+     * 查找第一个不小于指定数据的索引位置
+     *
+     * @param e 数据
+     *
+     * @return 索引位置
+     *
+     * @since 1.1.6
+     */
+    private int lowerBound(E e) {
+        int start = 0;
+        int end = list.size() - 1;
+        while (start <= end) {
+            int mid = start + ((end - start) >> 1);
+            if (comparator.compare(e, list.get(mid)) > 0) {
+                start = mid + 1;
+            } else {
+                end = mid - 1;
+            }
+        }
+        return start;
+    }
+
     /**
      * 添加一个已排序的列表
      *
@@ -289,11 +434,76 @@ public class SortedList<E, T extends List<E>> implements BaseBean {
      * @since 1.0.6
      */
     public void addSorted(Iterable<E> iterable) {
+        if (iterable instanceof Collection && shouldMerge(((Collection<E>) iterable).size())) {
+            checkComparator();
+            // 数据已排序，有界时只复制排在最前面的 capacity 个数据
+            List<E> batch = new ArrayList<>(Math.min(((Collection<E>) iterable).size(), capacity));
+            for (Iterator<E> iterator = iterable.iterator(); iterator.hasNext() && batch.size() < capacity; ) {
+                batch.add(iterator.next());
+            }
+            merge(batch);
+            trimToCapacity();
+            return;
+        }
         Iterator<E> iterator = iterable.iterator();
         int start = 0;
         while (iterator.hasNext()) {
             // 由于集合是有序的，所以当前元素插入的位置一定是下一个元素的开始位置，从而缩小查找范围
             start = add(iterator.next(), start) + 1;
+            if (start == 0) {
+                // 已超出容量，之后的元素只会排得更后
+                break;
+            }
+        }
+    }
+
+    /**
+     * 是否使用归并的方式批量添加，只有随机访问的列表才能高效地归并
+     *
+     * @param size 待添加的数据量
+     *
+     * @return 是否归并
+     *
+     * @since 1.1.6
+     */
+    private boolean shouldMerge(int size) {
+        return size >= MERGE_THRESHOLD && list instanceof RandomAccess;
+    }
+
+    /**
+     * 将已排序的数据归并到列表中，从尾部向前归并，时间复杂度为 O(n + m)。有界时先跳过归并后会超出容量的数据，
+     * 列表最多只扩容到 capacity
+     *
+     * @param batch 已排序的数据
+     *
+     * @since 1.1.6
+     */
+    private void merge(List<E> batch) {
+        int total = (int) Math.min((long) list.size() + batch.size(), capacity);
+        int i = list.size() - 1;
+        int j = batch.size() - 1;
+        for (long drop = (long) list.size() + batch.size() - total; drop > 0; drop--) {
+            // 排在最后的数据超出容量，与归并的顺序一致
+            if (j < 0 || (i >= 0 && comparator.compare(batch.get(j), list.get(i)) < 0)) {
+                i--;
+            } else {
+                j--;
+            }
+        }
+        int k = i + j + 1;
+        if (list.size() < total) {
+            // 扩容，占位的数据会被覆盖
+            list.addAll(batch.subList(0, total - list.size()));
+        } else if (list.size() > total) {
+            list.subList(total, list.size()).clear();
+        }
+        while (j >= 0) {
+            // 与逐个插入保持一致，相等时新数据排在后面
+            if (i >= 0 && comparator.compare(batch.get(j), list.get(i)) < 0) {
+                list.set(k--, list.get(i--));
+            } else {
+                list.set(k--, batch.get(j--));
+            }
         }
     }
 
@@ -332,9 +542,10 @@ public class SortedList<E, T extends List<E>> implements BaseBean {
             throw new NullPointerException();
         }
         if (list.size() > 1) {
-            resort();
+            sortList(list);
         }
         this.list = list;
+        trimToCapacity();
     }
 
     /**
@@ -346,8 +557,91 @@ public class SortedList<E, T extends List<E>> implements BaseBean {
      * @since 1.0.6
      */
     public void setList(T list, Comparator<E> comparator) {
+        Objects.requireNonNull(list);
         this.comparator = comparator;
-        setList(list);
+        if (list.size() > 1) {
+            sortList(list);
+        }
+        this.list = list;
+        trimToCapacity();
+    }
+
+    /**
+     * 获取比较器
+     *
+     * @return 比较器
+     *
+     * @since 1.1.6
+     */
+    public Comparator<E> getComparator() {
+        return comparator;
+    }
+
+    /**
+     * 获取最大容量
+     *
+     * @return 最大容量，无界时为 {@link Integer#MAX_VALUE}
+     *
+     * @since 1.1.6
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * 设置最大容量，超出的数据将被淘汰
+     *
+     * @param capacity 最大容量
+     *
+     * @since 1.1.6
+     */
+    public void setCapacity(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be greater than zero");
+        }
+        this.capacity = capacity;
+        trimToCapacity();
+    }
+
+    /**
+     * 数据是否会被保留（未满或排在最后一个数据之前）
+     *
+     * @param e 数据
+     *
+     * @return 是否会被保留
+     *
+     * @since 1.1.6
+     */
+    public boolean isAcceptable(E e) {
+        int size = list.size();
+        if (size < capacity) {
+            return true;
+        }
+        checkComparator();
+        return size > 0 && comparator.compare(e, list.get(size - 1)) < 0;
+    }
+
+    /**
+     * 淘汰超出容量的数据
+     *
+     * @since 1.1.6
+     */
+    private void trimToCapacity() {
+        if (Objects.nonNull(list) && list.size() > capacity) {
+            list.subList(capacity, list.size()).clear();
+        }
+    }
+
+    /**
+     * 对列表排序
+     *
+     * @param list 列表
+     *
+     * @since 1.1.6
+     */
+    private void sortList(T list) {
+        checkComparator();
+        list.sort(comparator);
     }
 
     /**
@@ -0,0 +1,205 @@
+package org.code4everything.boot.base.collection;
+
+import cn.hutool.core.comparator.ComparatorException;
+
+import javax.annotation.concurrent.NotThreadSafe;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 多路归并迭代器<br>将多个已排序的数据源（列表、队列、迭代器）按需归并，只维护一个大小为数据源个数的小顶堆，
+ * 不会预先生成归并后的集合，每次取出的时间复杂度为 O(log k)
+ *
+ * @author pantao
+ * @since 1.1.6
+ */
+@NotThreadSafe
+public final class SortedMergeIterator<E> implements Iterator<E> {
+
+    /**
+     * 数据源的游标堆
+     *
+     * @since 1.1.6
+     */
+    private final PriorityQueue<Cursor<E>> heap;
+
+    /**
+     * 构造函数
+     *
+     * @param comparator 比较器
+     * @param iterators 已排序的数据源
+     *
+     * @since 1.1.6
+     */
+    public SortedMergeIterator(Comparator<? super E> comparator, Collection<? extends Iterator<? extends E>> iterators) {
+        if (Objects.isNull(comparator)) {
+            throw new ComparatorException("comparator must not be null");
+        }
+        // 相等时按数据源的顺序排列，保证归并稳定
+        Comparator<Cursor<E>> cursorComparator = (c1, c2) -> {
+            int res = comparator.compare(c1.head, c2.head);
+            return res == 0 ? Integer.compare(c1.order, c2.order) : res;
+        };
+        this.heap = new PriorityQueue<>(Math.max(1, iterators.size()), cursorComparator);
+        int order = 0;
+        for (Iterator<? extends E> iterator : iterators) {
+            if (iterator.hasNext()) {
+                heap.offer(new Cursor<>(iterator, order++));
+            }
+        }
+    }
+
+    /**
+     * 归并多个已排序的数据源
+     *
+     * @param comparator 比较器
+     * @param iterables 已排序的数据源
+     * @param <E> 数据类型
+     *
+     * @return 归并迭代器
+     *
+     * @since 1.1.6
+     */
+    @SafeVarargs
+    public static <E> SortedMergeIterator<E> of(Comparator<? super E> comparator,
+                                                Iterable<? extends E>... iterables) {
+        List<Iterator<? extends E>> iterators = new ArrayList<>(iterables.length);
+        for (Iterable<? extends E> iterable : iterables) {
+            iterators.add(iterable.iterator());
+        }
+        return new SortedMergeIterator<>(comparator, iterators);
+    }
+
+    /**
+     * 归并多个已排序的迭代器
+     *
+     * @param comparator 比较器
+     * @param iterators 已排序的迭代器
+     * @param <E> 数据类型
+     *
+     * @return 归并迭代器
+     *
+     * @since 1.1.6
+     */
+    @SafeVarargs
+    public static <E> SortedMergeIterator<E> ofIterators(Comparator<? super E> comparator,
+                                                         Iterator<? extends E>... iterators) {
+        return new SortedMergeIterator<>(comparator, Arrays.asList(iterators));
+    }
+
+    /**
+     * 按队列的出队顺序迭代（会取出队列中的数据），用于将 {@link PriorityQueue} 作为已排序的数据源
+     *
+     * @param queue 队列
+     * @param <E> 数据类型
+     *
+     * @return 迭代器
+     *
+     * @since 1.1.6
+     */
+    public static <E> Iterator<E> polling(Queue<E> queue) {
+        return new Iterator<E>() {
+
+            @Override
+            public boolean hasNext() {
+                return !queue.isEmpty();
+            }
+
+            @Override
+            public E next() {
+                E e = queue.poll();
+                if (Objects.isNull(e)) {
+                    throw new NoSuchElementException();
+                }
+                return e;
+            }
+        };
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !heap.isEmpty();
+    }
+
+    @Override
+    public E next() {
+        Cursor<E> cursor = heap.poll();
+        if (Objects.isNull(cursor)) {
+            throw new NoSuchElementException();
+        }
+        E e = cursor.head;
+        if (cursor.advance()) {
+            heap.offer(cursor);
+        }
+        return e;
+    }
+
+    /**
+     * 转换成可分割迭代器
+     *
+     * @return {@link Spliterator}
+     *
+     * @since 1.1.6
+     */
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED);
+    }
+
+    /**
+     * 转换成流，归并按需进行
+     *
+     * @return {@link Stream}
+     *
+     * @since 1.1.6
+     */
+    public Stream<E> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * 将剩余的数据依次添加到目标集合中
+     *
+     * @param target 目标集合
+     * @param <C> 集合类型
+     *
+     * @return 目标集合
+     *
+     * @since 1.1.6
+     */
+    public <C extends Collection<? super E>> C mergeTo(C target) {
+        while (hasNext()) {
+            target.add(next());
+        }
+        return target;
+    }
+
+    /**
+     * 数据源的游标
+     *
+     * @since 1.1.6
+     */
+    private static final class Cursor<E> {
+
+        private final Iterator<? extends E> iterator;
+
+        private final int order;
+
+        private E head;
+
+        private Cursor(Iterator<? extends E> iterator, int order) {
+            this.iterator = iterator;
+            this.order = order;
+            this.head = iterator.next();
+        }
+
+        private boolean advance() {
+            if (iterator.hasNext()) {
+                head = iterator.next();
+                return true;
+            }
+            head = null;
+            return false;
+        }
+    }
+}
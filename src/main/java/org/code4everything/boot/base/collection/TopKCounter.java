@@ -0,0 +1,265 @@
+package org.code4everything.boot.base.collection;
+
+import org.code4everything.boot.base.MapUtils;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 高频键统计（Top-K）<br>使用 {@link CountMinSketch} 估算所有键的次数，只保留次数最多的K个键，内存占用固定，
+ * 适合键的数量无法预估的访问统计。保留的键同时记录在一个最小堆中，淘汰时取堆顶，时间复杂度为 O(log K)
+ *
+ * @param <K> 键类型
+ *
+ * @author pantao
+ * @since 1.1.6
+ */
+@ThreadSafe
+public final class TopKCounter<K> {
+
+    /**
+     * 频率估算
+     *
+     * @since 1.1.6
+     */
+    private final CountMinSketch sketch;
+
+    /**
+     * 当前次数最多的键
+     *
+     * @since 1.1.6
+     */
+    private final ConcurrentHashMap<K, Long> topMap;
+
+    /**
+     * 保留的键数量
+     *
+     * @since 1.1.6
+     */
+    private final int k;
+
+    /**
+     * 以 {@link #topMap} 中的键组成的最小堆，只在持有对象锁时修改。堆中记录的次数可能小于 {@link #topMap} 中的次数
+     * （已保留的键的次数在锁外更新，而次数只增不减），取堆顶前先把过时的堆顶更新为当前次数并下沉
+     *
+     * @since 1.1.6
+     */
+    private final Node<K>[] heap;
+
+    /**
+     * 堆中的键数量
+     *
+     * @since 1.1.6
+     */
+    private int heapSize = 0;
+
+    /**
+     * 进入 {@link #topMap} 的最低次数，只在淘汰时更新
+     *
+     * @since 1.1.6
+     */
+    private volatile long floor = 0;
+
+    /**
+     * 构造函数
+     *
+     * @param k 保留的键数量
+     *
+     * @since 1.1.6
+     */
+    public TopKCounter(int k) {
+        this(k, Math.max(1024, k << 6), 4);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param k 保留的键数量
+     * @param width {@link CountMinSketch} 每行的计数器数量，越大误差越小
+     * @param depth {@link CountMinSketch} 行数
+     *
+     * @since 1.1.6
+     */
+    @SuppressWarnings("unchecked")
+    public TopKCounter(int k, int width, int depth) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be greater than zero");
+        }
+        this.k = k;
+        this.sketch = new CountMinSketch(width, depth);
+        this.topMap = new ConcurrentHashMap<>(k * 4 / 3 + 1);
+        this.heap = new Node[k];
+    }
+
+    /**
+     * 累加一次
+     *
+     * @param key 键
+     *
+     * @since 1.1.6
+     */
+    public void increment(K key) {
+        add(key, 1);
+    }
+
+    /**
+     * 累加计数
+     *
+     * @param key 键
+     * @param delta 增量
+     *
+     * @since 1.1.6
+     */
+    public void add(K key, long delta) {
+        long estimate = sketch.add(key.hashCode(), delta);
+        // 已在高频集合中，直接更新次数
+        if (topMap.computeIfPresent(key, (ignore, v) -> Math.max(v, estimate)) != null) {
+            return;
+        }
+        // 未达到最低次数时无需加锁
+        if (topMap.size() >= k && estimate <= floor) {
+            return;
+        }
+        synchronized (this) {
+            if (topMap.computeIfPresent(key, (ignore, v) -> Math.max(v, estimate)) != null) {
+                return;
+            }
+            if (heapSize < k) {
+                topMap.put(key, estimate);
+                heap[heapSize] = new Node<>(key, estimate);
+                siftUp(heapSize++);
+                return;
+            }
+            // 淘汰次数最少的键
+            Node<K> min = settleMin();
+            if (estimate <= min.count) {
+                floor = min.count;
+                return;
+            }
+            topMap.remove(min.key);
+            topMap.put(key, estimate);
+            heap[0] = new Node<>(key, estimate);
+            siftDown(0);
+            floor = settleMin().count;
+        }
+    }
+
+    /**
+     * 估算键的次数
+     *
+     * @param key 键
+     *
+     * @return 估算的次数（可能偏大）
+     *
+     * @since 1.1.6
+     */
+    public long estimate(K key) {
+        return sketch.estimate(key.hashCode());
+    }
+
+    /**
+     * 获取次数最多的键（按次数降序）
+     *
+     * @return 键和估算次数
+     *
+     * @since 1.1.6
+     */
+    public LinkedHashMap<K, Long> top() {
+        return MapUtils.sortByValue(new HashMap<>(topMap), Comparator.reverseOrder());
+    }
+
+    /**
+     * 保留的键数量
+     *
+     * @return 保留的键数量
+     *
+     * @since 1.1.6
+     */
+    public int getK() {
+        return k;
+    }
+
+    /**
+     * 清空所有计数
+     *
+     * @since 1.1.6
+     */
+    public synchronized void clear() {
+        topMap.clear();
+        sketch.clear();
+        Arrays.fill(heap, null);
+        heapSize = 0;
+        floor = 0;
+    }
+
+    /**
+     * 获取次数最少的键，堆顶记录的次数过时时更新并下沉，直到堆顶的次数是当前次数，需持有对象锁
+     *
+     * @return 次数最少的键
+     *
+     * @since 1.1.6
+     */
+    private Node<K> settleMin() {
+        while (true) {
+            Node<K> root = heap[0];
+            long count = topMap.get(root.key);
+            if (count == root.count) {
+                return root;
+            }
+            root.count = count;
+            siftDown(0);
+        }
+    }
+
+    private void siftUp(int index) {
+        Node<K> node = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent].count <= node.count) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = node;
+    }
+
+    private void siftDown(int index) {
+        Node<K> node = heap[index];
+        int half = heapSize >>> 1;
+        while (index < half) {
+            int child = (index << 1) + 1;
+            int right = child + 1;
+            if (right < heapSize && heap[right].count < heap[child].count) {
+                child = right;
+            }
+            if (node.count <= heap[child].count) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = node;
+    }
+
+    /**
+     * 堆中的键和记录的次数
+     *
+     * @since 1.1.6
+     */
+    private static final class Node<K> {
+
+        private final K key;
+
+        private long count;
+
+        private Node(K key, long count) {
+            this.key = key;
+            this.count = count;
+        }
+    }
+}
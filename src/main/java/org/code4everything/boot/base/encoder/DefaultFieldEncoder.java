@@ -1,15 +1,18 @@
 package org.code4everything.boot.base.encoder;
 
-import cn.hutool.core.codec.Base64;
-import cn.hutool.core.util.ObjectUtil;
-import cn.hutool.crypto.digest.DigestUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.Field;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * 字段加密
@@ -21,6 +24,64 @@ public class DefaultFieldEncoder implements FieldEncoder {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultFieldEncoder.class);
 
+    /**
+     * 子类是否重写了 {@link #encodeField(Field, Object, Sealed)}，重写时每个字段都交给该方法处理
+     *
+     * @since 1.1.6
+     */
+    private final boolean customized = isCustomized(getClass());
+
+    /**
+     * 元素数量达到此值的集合、映射或数组并行加密，小于等于0时不并行
+     *
+     * @since 1.1.6
+     */
+    private final int parallelThreshold;
+
+    private final ForkJoinPool forkJoinPool;
+
+    /**
+     * 当前线程正在进行的加密所使用的已访问对象，子类重写的 {@link #encodeField(Field, Object, Sealed)}
+     * 调用父类方法继续遍历时沿用，保证循环引用同样能够终止
+     *
+     * @since 1.1.6
+     */
+    private final ThreadLocal<Visited> current = new ThreadLocal<>();
+
+    /**
+     * 构造函数，不并行加密
+     *
+     * @since 1.1.6
+     */
+    public DefaultFieldEncoder() {
+        this(0);
+    }
+
+    /**
+     * 构造函数，使用 {@link ForkJoinPool#commonPool()} 并行加密
+     *
+     * @param parallelThreshold 元素数量达到此值的集合、映射或数组并行加密，小于等于0时不并行
+     *
+     * @since 1.1.6
+     */
+    public DefaultFieldEncoder(int parallelThreshold) {
+        this(parallelThreshold, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param parallelThreshold 元素数量达到此值的集合、映射或数组并行加密，小于等于0时不并行
+     * @param forkJoinPool 并行加密使用的线程池
+     *
+     * @since 1.1.6
+     */
+    public DefaultFieldEncoder(int parallelThreshold, ForkJoinPool forkJoinPool) {
+        Objects.requireNonNull(forkJoinPool, "fork join pool must not be null");
+        this.parallelThreshold = parallelThreshold;
+        this.forkJoinPool = forkJoinPool;
+    }
+
     /**
      * 加密字段
      *
@@ -43,24 +104,9 @@ public class DefaultFieldEncoder implements FieldEncoder {
                 // 不是字符串类型的继续遍历
                 return encodeField(object);
             }
-            String value = String.valueOf(object);
-            switch (sealed.value()) {
-                case "md5":
-                    field.set(data, DigestUtil.md5Hex(value));
-                    break;
-                case "sha1":
-                    field.set(data, DigestUtil.sha1Hex(value));
-                    break;
-                case "sha256":
-                    field.set(data, DigestUtil.sha256Hex(value));
-                    break;
-                case "base64":
-                    field.set(data, Base64.encode(value));
-                    break;
-                default:
-                    field.set(data, sealed.value());
-                    break;
-            }
+            SealedField sealedField = SealedClass.of(field.getDeclaringClass()).getField(field.getName());
+            SealStrategy strategy = Objects.isNull(sealedField) ? SealStrategies.resolve(sealed) : sealedField.getStrategy();
+            field.set(data, strategy.seal(String.valueOf(object)));
             return true;
         } catch (IllegalAccessException e) {
             LOGGER.error("encrypt field {} failed, message -> {}", field.getName(), e.getMessage());
@@ -70,40 +116,186 @@ public class DefaultFieldEncoder implements FieldEncoder {
 
     @Override
     public final boolean encodeField(Object data) {
-        if (Objects.isNull(data) || data instanceof CharSequence || ObjectUtil.isBasicType(data)) {
+        Visited visited = current.get();
+        return encode(data, Objects.isNull(visited) ? new Visited() : visited);
+    }
+
+    /**
+     * 加密对象，已访问过的集合和对象直接跳过，避免循环引用导致的无限递归，也避免同一对象被重复加密
+     *
+     * @param data 对象
+     * @param visited 已访问过的对象
+     *
+     * @return 是否进行了加密
+     *
+     * @since 1.1.6
+     */
+    private boolean encode(Object data, Visited visited) {
+        if (Objects.isNull(data)) {
             return false;
         }
-        if (data instanceof Collection) {
-            return arrayEncodeHelper(((Collection) data).toArray());
+        SealedClass sealedClass = SealedClass.of(data.getClass());
+        if (sealedClass.getKind() == SealedClass.Kind.SKIP) {
+            // 没有加密字段的类直接跳过
+            return false;
         }
-        if (data instanceof Map) {
-            return arrayEncodeHelper(((Map) data).values().toArray());
+        if (!visited.add(data)) {
+            return false;
         }
-        if (data.getClass().isArray()) {
-            return arrayEncodeHelper((Object[]) data);
+        switch (sealedClass.getKind()) {
+            case COLLECTION:
+                Collection<?> collection = (Collection<?>) data;
+                return encodeElements(collection, collection.size(), visited);
+            case MAP:
+                Collection<?> values = ((Map<?, ?>) data).values();
+                return encodeElements(values, values.size(), visited);
+            case ARRAY:
+                Object[] array = (Object[]) data;
+                return encodeElements(Arrays.asList(array), array.length, visited);
+            default:
+                return encodeBean(data, sealedClass.getFields(), visited);
         }
+    }
+
+    /**
+     * 加密对象中加了 {@link Sealed} 注解的字段
+     *
+     * @param data 对象
+     * @param fields 加密字段
+     * @param visited 已访问过的对象
+     *
+     * @return 是否进行了加密
+     *
+     * @since 1.1.6
+     */
+    private boolean encodeBean(Object data, SealedField[] fields, Visited visited) {
         boolean encoded = false;
-        // 遍历属性字段
-        Field[] fields = data.getClass().getDeclaredFields();
-        for (Field field : fields) {
-            Sealed sealed = field.getAnnotation(Sealed.class);
-            if (ObjectUtil.isNotNull(sealed)) {
-                field.setAccessible(true);
-                if (encodeField(field, data, sealed)) {
-                    encoded = true;
-                }
+        for (SealedField field : fields) {
+            if (customized) {
+                encoded |= encodeCustomized(field, data, visited);
+            } else if (field.isString()) {
+                field.set(data, field.encode(String.valueOf(field.get(data))));
+                encoded = true;
+            } else {
+                // 不是字符串类型的继续遍历
+                encoded |= encode(field.get(data), visited);
+            }
+        }
+        return encoded;
+    }
+
+    /**
+     * 交给子类重写的 {@link #encodeField(Field, Object, Sealed)} 加密字段，期间记录当前的已访问对象
+     *
+     * @param field 字段
+     * @param data 对象
+     * @param visited 已访问过的对象
+     *
+     * @return 该字段是否加了密
+     *
+     * @since 1.1.6
+     */
+    private boolean encodeCustomized(SealedField field, Object data, Visited visited) {
+        Visited previous = current.get();
+        current.set(visited);
+        try {
+            return encodeField(field.getField(), data, field.getSealed());
+        } finally {
+            if (Objects.isNull(previous)) {
+                current.remove();
+            } else {
+                current.set(previous);
             }
         }
+    }
+
+    /**
+     * 加密所有元素，元素数量达到阈值时并行加密
+     *
+     * @param elements 元素
+     * @param size 元素数量
+     * @param visited 已访问过的对象
+     *
+     * @return 是否有元素进行了加密
+     *
+     * @since 1.1.6
+     */
+    private boolean encodeElements(Collection<?> elements, int size, Visited visited) {
+        if (parallelThreshold > 0 && size >= parallelThreshold) {
+            // 调用方之后的遍历沿用同一个线程安全的实现，并行期间访问过的对象不会被再次加密
+            visited.share();
+            return forkJoinPool.submit(() -> elements.parallelStream().map(element -> encode(element, visited))
+                    .reduce(false, Boolean::logicalOr)).join();
+        }
+        boolean encoded = false;
+        for (Object element : elements) {
+            encoded |= encode(element, visited);
+        }
         return encoded;
     }
 
-    private boolean arrayEncodeHelper(Object[] data) {
-        for (Object datum : data) {
-            if (!encodeField(datum)) {
-                // 集合内对象无加密的字段
-                return false;
+    private static boolean isCustomized(Class<?> clazz) {
+        for (Class<?> type = clazz; type != DefaultFieldEncoder.class; type = type.getSuperclass()) {
+            try {
+                type.getDeclaredMethod("encodeField", Field.class, Object.class, Sealed.class);
+                return true;
+            } catch (NoSuchMethodException e) {
+                // 继续查找父类
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 已访问过的对象，按引用判断是否相同。开始并行加密时就地转换为线程安全的实现，之后整个遍历都使用它
+     *
+     * @since 1.1.6
+     */
+    private static final class Visited {
+
+        private Set<Object> local = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        private Map<IdentityKey, Boolean> shared = null;
+
+        private boolean add(Object object) {
+            if (Objects.isNull(shared)) {
+                return local.add(object);
             }
+            return Objects.isNull(shared.putIfAbsent(new IdentityKey(object), Boolean.TRUE));
+        }
+
+        /**
+         * 就地转换为线程安全的实现，只会在并行开始前由唯一的遍历线程调用，提交任务保证了转换对工作线程可见
+         *
+         * @since 1.1.6
+         */
+        private void share() {
+            if (Objects.nonNull(shared)) {
+                return;
+            }
+            Map<IdentityKey, Boolean> map = new ConcurrentHashMap<>(Math.max(64, local.size() * 2));
+            local.forEach(object -> map.put(new IdentityKey(object), Boolean.TRUE));
+            shared = map;
+            local = null;
+        }
+    }
+
+    private static final class IdentityKey {
+
+        private final Object object;
+
+        private IdentityKey(Object object) {
+            this.object = object;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof IdentityKey && ((IdentityKey) o).object == object;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(object);
         }
-        return true;
     }
 }
@@ -0,0 +1,164 @@
+package org.code4everything.boot.base.encoder;
+
+import javax.annotation.concurrent.ThreadSafe;
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+
+/**
+ * 基于摘要或HMAC的加密策略，输出小写十六进制字符串。摘要和HMAC实例按线程复用，
+ * 输入和输出使用线程内复用的缓冲区，除结果字符串外不分配内存（输入含非ASCII字符时需要编码）
+ *
+ * @author pantao
+ * @since 1.1.6
+ */
+@ThreadSafe
+abstract class HashSealStrategy implements SealStrategy {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
+    /**
+     * 摘要策略
+     *
+     * @param algorithm 摘要算法，如：MD5、SHA-256
+     *
+     * @return {@link SealStrategy}
+     *
+     * @since 1.1.6
+     */
+    static HashSealStrategy digest(String algorithm) {
+        // 提前校验算法是否可用
+        newDigest(algorithm);
+        return new HashSealStrategy() {
+
+            private final ThreadLocal<MessageDigest> digest = ThreadLocal.withInitial(() -> newDigest(algorithm));
+
+            @Override
+            protected int hash(byte[] input, int length, byte[] output) throws GeneralSecurityException {
+                MessageDigest messageDigest = digest.get();
+                messageDigest.update(input, 0, length);
+                return messageDigest.digest(output, 0, output.length);
+            }
+        };
+    }
+
+    /**
+     * HMAC策略
+     *
+     * @param algorithm HMAC算法，如：HmacSHA256
+     * @param key 密钥
+     *
+     * @return {@link SealStrategy}
+     *
+     * @since 1.1.6
+     */
+    static HashSealStrategy hmac(String algorithm, String key) {
+        SecretKeySpec keySpec = new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), algorithm);
+        newMac(keySpec);
+        return new HashSealStrategy() {
+
+            private final ThreadLocal<Mac> mac = ThreadLocal.withInitial(() -> newMac(keySpec));
+
+            @Override
+            protected int hash(byte[] input, int length, byte[] output) throws ShortBufferException {
+                Mac instance = mac.get();
+                instance.update(input, 0, length);
+                instance.doFinal(output, 0);
+                return instance.getMacLength();
+            }
+        };
+    }
+
+    private static MessageDigest newDigest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("unsupported digest algorithm: " + algorithm, e);
+        }
+    }
+
+    private static Mac newMac(SecretKeySpec keySpec) {
+        try {
+            Mac mac = Mac.getInstance(keySpec.getAlgorithm());
+            mac.init(keySpec);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("unsupported hmac algorithm: " + keySpec.getAlgorithm(), e);
+        }
+    }
+
+    /**
+     * 计算哈希
+     *
+     * @param input 输入缓冲区
+     * @param length 输入长度
+     * @param output 输出缓冲区，长度足够容纳结果
+     *
+     * @return 结果长度
+     *
+     * @throws GeneralSecurityException 计算失败
+     * @since 1.1.6
+     */
+    protected abstract int hash(byte[] input, int length, byte[] output) throws GeneralSecurityException;
+
+    @Override
+    public String seal(String value) {
+        Buffers buffers = BUFFERS.get();
+        byte[] input = buffers.encode(value);
+        int length = input == buffers.input ? value.length() : input.length;
+        try {
+            int size = hash(input, length, buffers.output);
+            char[] chars = buffers.hex;
+            for (int i = 0; i < size; i++) {
+                int b = buffers.output[i] & 0xFF;
+                chars[i << 1] = HEX[b >>> 4];
+                chars[(i << 1) + 1] = HEX[b & 0x0F];
+            }
+            return new String(chars, 0, size << 1);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("seal value failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 线程内复用的缓冲区
+     *
+     * @since 1.1.6
+     */
+    private static final class Buffers {
+
+        /**
+         * 最大支持SHA-512
+         */
+        private final byte[] output = new byte[64];
+
+        private final char[] hex = new char[128];
+
+        private byte[] input = new byte[256];
+
+        /**
+         * 编码字符串，只含ASCII字符时写入复用的缓冲区，否则使用UTF-8编码
+         *
+         * @since 1.1.6
+         */
+        private byte[] encode(String value) {
+            int length = value.length();
+            if (input.length < length) {
+                input = new byte[Math.max(length, input.length << 1)];
+            }
+            for (int i = 0; i < length; i++) {
+                char c = value.charAt(i);
+                if (c >= 0x80) {
+                    return value.getBytes(StandardCharsets.UTF_8);
+                }
+                input[i] = (byte) c;
+            }
+            return input;
+        }
+    }
+}
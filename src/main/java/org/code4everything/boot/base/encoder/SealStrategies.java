@@ -0,0 +1,140 @@
+package org.code4everything.boot.base.encoder;
+
+import cn.hutool.core.util.StrUtil;
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 加密策略注册表，内置：md5 sha1 sha256 base64 hmac-md5 hmac-sha1 hmac-sha256，未注册的名称使用名称本身覆盖字段值。
+ * HMAC的密钥为 {@link Sealed#privateKey()}，为空时使用参数中的 "key"；参数中的 "memo" 大于0时，
+ * 缓存最近该数量的加密结果，适用于同一个值在多行中重复出现的情况
+ *
+ * @author pantao
+ * @since 1.1.6
+ */
+public final class SealStrategies {
+
+    /**
+     * 参数中记忆缓存大小的键
+     *
+     * @since 1.1.6
+     */
+    public static final String MEMO = "memo";
+
+    /**
+     * 参数中HMAC密钥的键
+     *
+     * @since 1.1.6
+     */
+    public static final String KEY = "key";
+
+    private static final Map<String, Function<Sealed, SealStrategy>> FACTORIES = new ConcurrentHashMap<>(16);
+
+    /**
+     * 已创建的策略，相同配置的字段共用一个策略
+     *
+     * @since 1.1.6
+     */
+    private static final Map<String, SealStrategy> STRATEGIES = new ConcurrentHashMap<>(16);
+
+    static {
+        register("md5", sealed -> HashSealStrategy.digest("MD5"));
+        register("sha1", sealed -> HashSealStrategy.digest("SHA-1"));
+        register("sha256", sealed -> HashSealStrategy.digest("SHA-256"));
+        register("base64", sealed -> value -> Base64.getEncoder().encodeToString(value.getBytes(StandardCharsets.UTF_8)));
+        register("hmac-md5", sealed -> HashSealStrategy.hmac("HmacMD5", requireKey(sealed)));
+        register("hmac-sha1", sealed -> HashSealStrategy.hmac("HmacSHA1", requireKey(sealed)));
+        register("hmac-sha256", sealed -> HashSealStrategy.hmac("HmacSHA256", requireKey(sealed)));
+    }
+
+    private SealStrategies() {}
+
+    /**
+     * 注册加密策略，已存在时覆盖，只影响之后解析的字段
+     *
+     * @param name 策略名，即 {@link Sealed#value()}
+     * @param factory 根据注解创建策略
+     *
+     * @since 1.1.6
+     */
+    public static void register(String name, Function<Sealed, SealStrategy> factory) {
+        Objects.requireNonNull(name, "strategy name must not be null");
+        Objects.requireNonNull(factory, "strategy factory must not be null");
+        FACTORIES.put(name, factory);
+        STRATEGIES.keySet().removeIf(key -> key.startsWith(name + '\0'));
+    }
+
+    /**
+     * 获取注解对应的加密策略
+     *
+     * @param sealed 注解
+     *
+     * @return {@link SealStrategy}
+     *
+     * @throws IllegalArgumentException 参数错误
+     * @since 1.1.6
+     */
+    public static SealStrategy resolve(Sealed sealed) {
+        String key = sealed.value() + '\0' + sealed.privateKey() + '\0' + sealed.params();
+        SealStrategy strategy = STRATEGIES.get(key);
+        if (Objects.isNull(strategy)) {
+            strategy = STRATEGIES.computeIfAbsent(key, k -> create(sealed));
+        }
+        return strategy;
+    }
+
+    /**
+     * 缓存加密结果
+     *
+     * @param strategy 加密策略
+     * @param maximumSize 最大缓存数量
+     *
+     * @return {@link SealStrategy}
+     *
+     * @since 1.1.6
+     */
+    public static SealStrategy memoize(SealStrategy strategy, int maximumSize) {
+        Cache<String, String> cache = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+        return value -> {
+            String sealed = cache.getIfPresent(value);
+            if (Objects.isNull(sealed)) {
+                sealed = strategy.seal(value);
+                cache.put(value, sealed);
+            }
+            return sealed;
+        };
+    }
+
+    private static SealStrategy create(Sealed sealed) {
+        Function<Sealed, SealStrategy> factory = FACTORIES.get(sealed.value());
+        if (Objects.isNull(factory)) {
+            String mask = sealed.value();
+            return value -> mask;
+        }
+        SealStrategy strategy = factory.apply(sealed);
+        int memo = parseParams(sealed).getIntValue(MEMO);
+        return memo > 0 ? memoize(strategy, memo) : strategy;
+    }
+
+    private static String requireKey(Sealed sealed) {
+        String key = StrUtil.isEmpty(sealed.privateKey()) ? parseParams(sealed).getString(KEY) : sealed.privateKey();
+        if (StrUtil.isEmpty(key)) {
+            throw new IllegalArgumentException("hmac key is required: " + sealed.value());
+        }
+        return key;
+    }
+
+    private static JSONObject parseParams(Sealed sealed) {
+        JSONObject params = StrUtil.isBlank(sealed.params()) ? null : JSON.parseObject(sealed.params());
+        return Objects.isNull(params) ? new JSONObject() : params;
+    }
+}
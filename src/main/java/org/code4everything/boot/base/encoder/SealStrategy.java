@@ -0,0 +1,23 @@
+package org.code4everything.boot.base.encoder;
+
+/**
+ * 字段加密策略，通过 {@link SealStrategies#register(String, java.util.function.Function)} 注册后可在 {@link Sealed#value()}
+ * 中使用，实现需要是线程安全的
+ *
+ * @author pantao
+ * @since 1.1.6
+ */
+@FunctionalInterface
+public interface SealStrategy {
+
+    /**
+     * 加密
+     *
+     * @param value 字段值
+     *
+     * @return 加密后的值
+     *
+     * @since 1.1.6
+     */
+    String seal(String value);
+}
@@ -17,8 +17,9 @@ import java.lang.reflect.Field;
 public @interface Sealed {
 
     /**
-     * 加密方法，默认仅支持：md5 sha1 sha256 base64，不支持的加密方法将用方法名覆盖字段值。 其他加密方法需要继承 {@link DefaultFieldEncoder} 后重写 {@link
-     * DefaultFieldEncoder#encodeField(Field, Object, Sealed)} 方法或你自己实现 {@link FieldEncoder}接口
+     * 加密方法，默认支持：md5 sha1 sha256 base64 hmac-md5 hmac-sha1 hmac-sha256，不支持的加密方法将用方法名覆盖字段值。 其他加密方法可以通过 {@link
+     * SealStrategies#register(String, java.util.function.Function)} 注册，或继承 {@link DefaultFieldEncoder} 后重写 {@link
+     * DefaultFieldEncoder#encodeField(Field, Object, Sealed)} 方法，或你自己实现 {@link FieldEncoder}接口
      *
      * @return 加密方法
      *
@@ -27,7 +28,7 @@ public @interface Sealed {
     String value() default "******";
 
     /**
-     * 私钥密码
+     * 私钥密码，HMAC加密方法的密钥
      *
      * @return 私钥密码
      *
@@ -45,7 +46,7 @@ public @interface Sealed {
     String publicKey() default "";
 
     /**
-     * 自定义参数，{@link JSONObject} 格式
+     * 自定义参数，{@link JSONObject} 格式，支持 {@link SealStrategies#MEMO} 和 {@link SealStrategies#KEY}
      *
      * @return {@link JSONObject} 格式参数
      *
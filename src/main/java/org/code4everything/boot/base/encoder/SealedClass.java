@@ -0,0 +1,132 @@
+package org.code4everything.boot.base.encoder;
+
+import cn.hutool.core.util.ClassUtil;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 类的加密计划，每个类只扫描一次并缓存，之后根据 {@link #getKind()} 直接决定如何处理该类的对象，
+ * 避免对每个对象重复进行类型判断和反射
+ *
+ * @author pantao
+ * @since 1.1.6
+ */
+public final class SealedClass {
+
+    private static final SealedField[] EMPTY = new SealedField[0];
+
+    private static final ClassValue<SealedClass> PLANS = new ClassValue<SealedClass>() {
+        @Override
+        protected SealedClass computeValue(Class<?> type) {
+            return scan(type);
+        }
+    };
+
+    private final Kind kind;
+
+    private final SealedField[] fields;
+
+    private SealedClass(Kind kind, SealedField[] fields) {
+        this.kind = kind;
+        this.fields = fields;
+    }
+
+    /**
+     * 获取类的加密计划
+     *
+     * @param type 类
+     *
+     * @return {@link SealedClass}
+     *
+     * @since 1.1.6
+     */
+    public static SealedClass of(Class<?> type) {
+        return PLANS.get(type);
+    }
+
+    private static SealedClass scan(Class<?> type) {
+        if (CharSequence.class.isAssignableFrom(type) || ClassUtil.isBasicType(type)) {
+            return new SealedClass(Kind.SKIP, EMPTY);
+        }
+        if (Collection.class.isAssignableFrom(type)) {
+            return new SealedClass(Kind.COLLECTION, EMPTY);
+        }
+        if (Map.class.isAssignableFrom(type)) {
+            return new SealedClass(Kind.MAP, EMPTY);
+        }
+        if (type.isArray()) {
+            return new SealedClass(type.getComponentType().isPrimitive() ? Kind.SKIP : Kind.ARRAY, EMPTY);
+        }
+        List<SealedField> fields = SealedField.scan(type);
+        return fields.isEmpty() ? new SealedClass(Kind.SKIP, EMPTY) : new SealedClass(Kind.BEAN,
+                                                                                       fields.toArray(EMPTY));
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * 获取加了 {@link Sealed} 注解的字段，请勿修改返回的数组
+     *
+     * @return 字段，非 {@link Kind#BEAN} 时为空数组
+     *
+     * @since 1.1.6
+     */
+    public SealedField[] getFields() {
+        return fields;
+    }
+
+    /**
+     * 按字段名获取加了 {@link Sealed} 注解的字段
+     *
+     * @param name 字段名
+     *
+     * @return 字段，不存在时返回NULL
+     *
+     * @since 1.1.6
+     */
+    public SealedField getField(String name) {
+        for (SealedField field : fields) {
+            if (field.getName().equals(name)) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 类的种类
+     *
+     * @since 1.1.6
+     */
+    public enum Kind {
+
+        /**
+         * 无需加密：字符串、基本类型、基本类型数组、没有加密字段的类
+         */
+        SKIP,
+
+        /**
+         * 集合，遍历元素
+         */
+        COLLECTION,
+
+        /**
+         * 映射，遍历值
+         */
+        MAP,
+
+        /**
+         * 对象数组，遍历元素
+         */
+        ARRAY,
+
+        /**
+         * 有加密字段的类
+         */
+        BEAN
+    }
+}
@@ -0,0 +1,173 @@
+package org.code4everything.boot.base.encoder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 加了 {@link Sealed} 注解的字段，读写字段使用编译好的 {@link MethodHandle}，加密策略在扫描时确定
+ *
+ * @author pantao
+ * @since 1.1.6
+ */
+public final class SealedField {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SealedField.class);
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Field field;
+
+    private final Sealed sealed;
+
+    private final MethodHandle getter;
+
+    private final MethodHandle setter;
+
+    /**
+     * 是否为字符串字段，非字符串字段需要继续遍历字段的值
+     *
+     * @since 1.1.6
+     */
+    private final boolean string;
+
+    private final SealStrategy strategy;
+
+    private SealedField(Field field, Sealed sealed, MethodHandle getter, MethodHandle setter) {
+        this.field = field;
+        this.sealed = sealed;
+        this.getter = getter;
+        this.setter = setter;
+        this.string = field.getType() == String.class;
+        this.strategy = resolveStrategy(field, sealed);
+    }
+
+    /**
+     * 扫描类中加了 {@link Sealed} 注解的字段（不包括父类的字段）
+     *
+     * @param type 类
+     *
+     * @return 字段
+     *
+     * @since 1.1.6
+     */
+    static List<SealedField> scan(Class<?> type) {
+        List<SealedField> fields = new ArrayList<>();
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        for (Field field : type.getDeclaredFields()) {
+            Sealed sealed = field.getAnnotation(Sealed.class);
+            if (Objects.isNull(sealed) || Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            try {
+                field.setAccessible(true);
+                MethodHandle getter = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+                MethodHandle setter = lookup.unreflectSetter(field).asType(SETTER_TYPE);
+                fields.add(new SealedField(field, sealed, getter, setter));
+            } catch (IllegalAccessException | RuntimeException e) {
+                LOGGER.error("resolve sealed field {} failed, message -> {}", field.getName(), e.getMessage());
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * 确定加密策略，参数错误时使用注解的值覆盖字段值，避免泄露原值
+     *
+     * @param field 字段
+     * @param sealed 注解
+     *
+     * @return 加密策略
+     *
+     * @since 1.1.6
+     */
+    private static SealStrategy resolveStrategy(Field field, Sealed sealed) {
+        try {
+            return SealStrategies.resolve(sealed);
+        } catch (RuntimeException e) {
+            LOGGER.error("resolve seal strategy of field {} failed, message -> {}", field.getName(), e.getMessage());
+            String mask = sealed.value();
+            return value -> mask;
+        }
+    }
+
+    /**
+     * 读取字段值
+     *
+     * @param target 对象
+     *
+     * @return 字段值
+     *
+     * @since 1.1.6
+     */
+    public Object get(Object target) {
+        try {
+            return (Object) getter.invokeExact(target);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 设置字段值
+     *
+     * @param target 对象
+     * @param value 字段值
+     *
+     * @since 1.1.6
+     */
+    public void set(Object target, Object value) {
+        try {
+            setter.invokeExact(target, value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 加密字段值
+     *
+     * @param value 字段值
+     *
+     * @return 加密后的值
+     *
+     * @since 1.1.6
+     */
+    public String encode(String value) {
+        return strategy.seal(value);
+    }
+
+    public String getName() {
+        return field.getName();
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    public Sealed getSealed() {
+        return sealed;
+    }
+
+    public SealStrategy getStrategy() {
+        return strategy;
+    }
+
+    public boolean isString() {
+        return string;
+    }
+}
@@ -0,0 +1,59 @@
+package org.code4everything.boot.base.encoder;
+
+import com.alibaba.fastjson.serializer.BeanContext;
+import com.alibaba.fastjson.serializer.ContextValueFilter;
+
+import java.lang.reflect.Field;
+import java.util.Objects;
+
+/**
+ * 序列化时加密字段的过滤器，在写出JSON时替换加了 {@link Sealed} 注解的字符串字段的值，不会修改原对象。
+ * 作用于被序列化的所有对象（包括嵌套的对象），通过fastjson的字段信息找到属性对应的Java字段，
+ * 因此 {@link com.alibaba.fastjson.annotation.JSONField#name()} 和命名策略改名的属性同样会被加密。
+ * 没有对应字段的属性（如与字段不同名的getter）按属性名查找字段
+ *
+ * @author pantao
+ * @since 1.1.6
+ */
+public class SealedValueFilter implements ContextValueFilter {
+
+    /**
+     * 过滤器实例，过滤器无状态，可共享
+     *
+     * @since 1.1.6
+     */
+    public static final SealedValueFilter INSTANCE = new SealedValueFilter();
+
+    @Override
+    public Object process(BeanContext context, Object object, String name, Object value) {
+        if (Objects.isNull(object)) {
+            return value;
+        }
+        SealedField field = resolve(context, object, name);
+        if (Objects.isNull(field) || !field.isString()) {
+            return value;
+        }
+        return field.encode(String.valueOf(value));
+    }
+
+    /**
+     * 找到属性对应的加密字段
+     *
+     * @param context 属性上下文，可能为NULL
+     * @param object 对象
+     * @param name 属性名
+     *
+     * @return 加密字段，不存在时返回NULL
+     *
+     * @since 1.1.6
+     */
+    private SealedField resolve(BeanContext context, Object object, String name) {
+        Field javaField = Objects.isNull(context) ? null : context.getField();
+        if (Objects.nonNull(javaField)) {
+            SealedClass sealedClass = SealedClass.of(javaField.getDeclaringClass());
+            return sealedClass.getKind() == SealedClass.Kind.BEAN ? sealedClass.getField(javaField.getName()) : null;
+        }
+        SealedClass sealedClass = SealedClass.of(object.getClass());
+        return sealedClass.getKind() == SealedClass.Kind.BEAN ? sealedClass.getField(name) : null;
+    }
+}
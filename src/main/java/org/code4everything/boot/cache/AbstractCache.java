@@ -1,25 +1,46 @@
 package org.code4everything.boot.cache;
 
+import cn.hutool.core.util.ObjectUtil;
 import org.code4everything.boot.config.BootConfig;
-import org.springframework.cache.Cache;
 import org.springframework.cache.support.SimpleValueWrapper;
 
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 
 /**
  * @author pantao
  * @since 2019/6/14
  */
-public abstract class AbstractCache implements Cache {
+public abstract class AbstractCache implements BatchCache {
 
     private final String name;
 
     private final Object nativeCache;
 
+    /**
+     * 正在加载的值，同一个键同一时刻只会加载一次
+     *
+     * @since 1.1.6
+     */
+    private final Map<Object, FutureTask<Object>> loadingMap = new ConcurrentHashMap<>(16);
+
+    /**
+     * 分段锁，用于保证 {@link #putIfAbsent(Object, Object)} 的原子性
+     *
+     * @since 1.1.6
+     */
+    private final Object[] locks = new Object[32];
+
     public AbstractCache(String name, Object nativeCache) {
         this.name = name;
         this.nativeCache = nativeCache;
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
     }
 
     @Override
@@ -32,13 +53,88 @@ public abstract class AbstractCache implements Cache {
         return nativeCache;
     }
 
+    /**
+     * 不存在时才缓存，同一个缓存实例中对同一个键的操作是原子的，缓存自身支持原子操作时请重写此方法
+     *
+     * @param key 键
+     * @param value 值
+     *
+     * @return 已存在的值，不存在时返回NULL
+     *
+     * @since 1.1.6
+     */
     @Override
     public ValueWrapper putIfAbsent(Object key, Object value) {
+        synchronized (lockOf(key)) {
+            ValueWrapper wrapper = get(key);
+            if (Objects.isNull(wrapper)) {
+                put(key, value);
+            }
+            return wrapper;
+        }
+    }
+
+    /**
+     * 获取缓存，不存在时加载并缓存。同一个键的并发请求只会有一个线程执行加载，其他线程等待加载结果
+     *
+     * @param key 键
+     * @param valueLoader 加载器
+     * @param <T> 值类型
+     *
+     * @return 值
+     *
+     * @throws ValueRetrievalException 加载失败
+     * @since 1.1.6
+     */
+    @SuppressWarnings("unchecked")
+    protected <T> T loadIfAbsent(Object key, Callable<T> valueLoader) {
         ValueWrapper wrapper = get(key);
-        if (Objects.isNull(wrapper)) {
-            put(key, value);
+        if (ObjectUtil.isNotNull(wrapper)) {
+            return (T) wrapper.get();
         }
-        return wrapper;
+        FutureTask<Object> task = new FutureTask<>(() -> {
+            // 可能在本次检测之前刚加载完成
+            ValueWrapper loaded = get(key);
+            if (ObjectUtil.isNotNull(loaded)) {
+                return loaded.get();
+            }
+            T value = valueLoader.call();
+            if (ObjectUtil.isNotNull(value)) {
+                put(key, value);
+            }
+            return value;
+        });
+        FutureTask<Object> loading = loadingMap.putIfAbsent(key, task);
+        if (Objects.isNull(loading)) {
+            loading = task;
+            try {
+                task.run();
+            } finally {
+                loadingMap.remove(key, task);
+            }
+        }
+        try {
+            return (T) loading.get();
+        } catch (ExecutionException e) {
+            throw new ValueRetrievalException(key, valueLoader, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    /**
+     * 获取键对应的锁
+     *
+     * @param key 键
+     *
+     * @return 锁
+     *
+     * @since 1.1.6
+     */
+    protected Object lockOf(Object key) {
+        int hash = Objects.hashCode(key);
+        return locks[(hash ^ (hash >>> 16)) & (locks.length - 1)];
     }
 
     protected ValueWrapper wrapValueIfNotNull(Object value) {
@@ -50,6 +146,19 @@ public abstract class AbstractCache implements Cache {
         return Objects.isNull(value) ? null : (T) value;
     }
 
+    /**
+     * 转换值，值为空时调用加载器，不会缓存加载的值
+     *
+     * @param value 值
+     * @param valueLoader 加载器
+     * @param <T> 值类型
+     *
+     * @return 值
+     *
+     * @since 1.1.3
+     * @deprecated 并发请求会重复加载，请使用 {@link #loadIfAbsent(Object, Callable)}
+     */
+    @Deprecated
     @SuppressWarnings("unchecked")
     protected <T> T convert2(Object value, Callable<T> valueLoader) {
         if (Objects.isNull(value)) {
@@ -0,0 +1,59 @@
+package org.code4everything.boot.cache;
+
+import cn.hutool.core.util.ObjectUtil;
+import org.springframework.cache.Cache;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 支持批量操作的缓存，默认逐个操作，缓存自身支持批量操作（如Redis的MGET、管道）时请重写对应的方法
+ *
+ * @author pantao
+ * @since 1.1.6
+ */
+public interface BatchCache extends Cache {
+
+    /**
+     * 批量获取缓存
+     *
+     * @param keys 键集合
+     *
+     * @return 存在的键与值的映射
+     *
+     * @since 1.1.6
+     */
+    default Map<Object, Object> getAll(Collection<?> keys) {
+        Map<Object, Object> map = new HashMap<>(keys.size() * 4 / 3 + 1);
+        for (Object key : keys) {
+            ValueWrapper wrapper = get(key);
+            if (ObjectUtil.isNotNull(wrapper) && ObjectUtil.isNotNull(wrapper.get())) {
+                map.put(key, wrapper.get());
+            }
+        }
+        return map;
+    }
+
+    /**
+     * 批量写入缓存
+     *
+     * @param map 键与值的映射
+     *
+     * @since 1.1.6
+     */
+    default void putAll(Map<?, ?> map) {
+        map.forEach(this::put);
+    }
+
+    /**
+     * 批量删除缓存
+     *
+     * @param keys 键集合
+     *
+     * @since 1.1.6
+     */
+    default void evictAll(Collection<?> keys) {
+        keys.forEach(this::evict);
+    }
+}
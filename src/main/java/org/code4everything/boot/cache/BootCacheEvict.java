@@ -0,0 +1,51 @@
+package org.code4everything.boot.cache;
+
+import java.lang.annotation.*;
+
+/**
+ * 调用方法后删除缓存
+ *
+ * @author pantao
+ * @since 1.1.6
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface BootCacheEvict {
+
+    /**
+     * 缓存名
+     *
+     * @return {@link String}
+     *
+     * @since 1.1.6
+     */
+    String value();
+
+    /**
+     * 键的表达式，见 {@link CacheKeyExpression}，为空时使用所有参数生成键
+     *
+     * @return {@link String}
+     *
+     * @since 1.1.6
+     */
+    String key() default "";
+
+    /**
+     * 是否删除缓存中的所有数据
+     *
+     * @return {@link Boolean}
+     *
+     * @since 1.1.6
+     */
+    boolean allEntries() default false;
+
+    /**
+     * 是否在调用方法前删除，默认在方法正常返回后删除
+     *
+     * @return {@link Boolean}
+     *
+     * @since 1.1.6
+     */
+    boolean beforeInvocation() default false;
+}
@@ -1,19 +1,19 @@
 package org.code4everything.boot.cache;
 
-import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.collection.ConcurrentHashSet;
 import cn.hutool.core.util.ObjectUtil;
 import cn.hutool.core.util.StrUtil;
-import com.google.common.collect.Lists;
 import org.code4everything.boot.base.bean.BaseDomain;
 import org.code4everything.boot.base.constant.StringConsts;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -52,6 +52,20 @@ public class BootCacheManager implements CacheManager {
      */
     protected final boolean dynamic;
 
+    /**
+     * 是否统计缓存的命中率等数据
+     *
+     * @since 1.1.6
+     */
+    protected volatile boolean recordStats = false;
+
+    /**
+     * 多值缓存中列表的最大长度，小于等于0时不限制
+     *
+     * @since 1.1.6
+     */
+    protected volatile int maxValueSize = 0;
+
     public BootCacheManager(CacheCreator cacheCreator) {
         this(cacheCreator, 16);
     }
@@ -89,6 +103,9 @@ public class BootCacheManager implements CacheManager {
                 cache = cacheMap.get(name);
                 if (cache == null) {
                     cache = cacheCreator.createCache(name);
+                    if (recordStats) {
+                        cache = new MetricsCache(cache);
+                    }
                     cacheMap.put(name, cache);
                     cacheNames.add(name);
                 }
@@ -102,6 +119,42 @@ public class BootCacheManager implements CacheManager {
         return cacheNames;
     }
 
+    /**
+     * 设置是否统计缓存的命中、未命中、写入、删除次数和加载耗时，开启后已有的和新建的缓存都会被 {@link MetricsCache} 包装
+     *
+     * @param recordStats 是否统计
+     *
+     * @since 1.1.6
+     */
+    public void setRecordStats(boolean recordStats) {
+        synchronized (cacheMap) {
+            this.recordStats = recordStats;
+            cacheMap.replaceAll((name, cache) -> recordStats ? (cache instanceof MetricsCache ? cache :
+                    new MetricsCache(cache)) : MetricsCache.unwrap(cache));
+        }
+    }
+
+    public boolean isRecordStats() {
+        return recordStats;
+    }
+
+    /**
+     * 获取所有缓存的统计快照，未开启统计时返回空集合
+     *
+     * @return 缓存名与统计快照的映射
+     *
+     * @since 1.1.6
+     */
+    public Map<String, CacheStats> stats() {
+        Map<String, CacheStats> stats = new TreeMap<>();
+        cacheMap.forEach((name, cache) -> {
+            if (cache instanceof MetricsCache) {
+                stats.put(name, ((MetricsCache) cache).stats());
+            }
+        });
+        return stats;
+    }
+
     /**
      * 请求一个缓存必须存在
      *
@@ -134,7 +187,26 @@ public class BootCacheManager implements CacheManager {
     }
 
     /**
-     * 添加一个对象缓存，如果缓存是列表的话
+     * 批量新增对象缓存，缓存支持批量操作时只需一次请求
+     *
+     * @param cacheName 缓存名
+     * @param map 键与值的映射
+     *
+     * @since 1.1.6
+     */
+    public void putAll(String cacheName, Map<String, ?> map) {
+        Cache cache = getCache(cacheName);
+        if (ObjectUtil.isNotNull(cache)) {
+            if (cache instanceof BatchCache) {
+                ((BatchCache) cache).putAll(map);
+            } else {
+                map.forEach(cache::put);
+            }
+        }
+    }
+
+    /**
+     * 添加一个对象缓存，如果缓存是列表的话，同一个键的修改是原子的
      *
      * @param cacheName 缓存名
      * @param key 键
@@ -142,20 +214,43 @@ public class BootCacheManager implements CacheManager {
      *
      * @since 1.1.3
      */
-    @SuppressWarnings("unchecked")
     public void addVal(String cacheName, String key, Object value) {
-        Cache cache = getCache(cacheName);
-        if (ObjectUtil.isNotNull(cache)) {
-            Object object = cache.get(key);
-            if (Objects.isNull(object)) {
-                putVal(cacheName, key, Lists.newArrayList(value));
-            } else if (object instanceof Collection) {
-                ((Collection) object).add(value);
-                putVal(cacheName, key, object);
-            }
+        MultiValueCache<Object> multiValueCache = getMultiValueCache(cacheName);
+        if (ObjectUtil.isNotNull(multiValueCache)) {
+            multiValueCache.add(key, value);
         }
     }
 
+    /**
+     * 获取多值缓存，用于原子地修改缓存中的列表
+     *
+     * @param cacheName 缓存名
+     * @param <T> 列表中的值类型
+     *
+     * @return 多值缓存，缓存不存在时返回NULL
+     *
+     * @since 1.1.6
+     */
+    public <T> MultiValueCache<T> getMultiValueCache(String cacheName) {
+        Cache cache = getCache(cacheName);
+        return Objects.isNull(cache) ? null : new MultiValueCache<>(cache, maxValueSize);
+    }
+
+    /**
+     * 设置多值缓存中列表的最大长度，超出时淘汰最早添加的值
+     *
+     * @param maxValueSize 最大长度，小于等于0时不限制
+     *
+     * @since 1.1.6
+     */
+    public void setMaxValueSize(int maxValueSize) {
+        this.maxValueSize = maxValueSize;
+    }
+
+    public int getMaxValueSize() {
+        return maxValueSize;
+    }
+
     /**
      * 删除一个对象缓存，works on all caches if cacheName==null || cacheName=="" || cacheName=="*"
      *
@@ -175,6 +270,25 @@ public class BootCacheManager implements CacheManager {
         }
     }
 
+    /**
+     * 批量删除对象缓存，works on all caches if cacheName==null || cacheName=="" || cacheName=="*"
+     *
+     * @param cacheName 缓存名
+     * @param keys 键集合
+     *
+     * @since 1.1.6
+     */
+    public void evictAll(String cacheName, Collection<String> keys) {
+        if (StrUtil.isEmpty(cacheName) || StringConsts.Sign.STAR.equals(cacheName)) {
+            cacheMap.values().forEach(cache -> evictAll(cache, keys));
+            return;
+        }
+        Cache cache = getCache(cacheName);
+        if (ObjectUtil.isNotNull(cache)) {
+            evictAll(cache, keys);
+        }
+    }
+
     /**
      * 从缓存列表中移除缓存
      *
@@ -186,11 +300,10 @@ public class BootCacheManager implements CacheManager {
      * @since 1.1.3
      */
     public <T> void delVal(String cacheName, String key, CacheRemovable<T> removable) {
-        Collection<T> collection = getValByType(cacheName, key);
-        if (CollUtil.isEmpty(collection)) {
-            return;
+        MultiValueCache<T> multiValueCache = getMultiValueCache(cacheName);
+        if (ObjectUtil.isNotNull(multiValueCache)) {
+            multiValueCache.removeIf(key, removable::shouldRemove);
         }
-        collection.removeIf(removable::shouldRemove);
     }
 
     /**
@@ -204,11 +317,10 @@ public class BootCacheManager implements CacheManager {
      * @since 1.1.5
      */
     public <T> void delVal(String cacheName, String key, T value) {
-        Collection<T> collection = getValByType(cacheName, key);
-        if (CollUtil.isEmpty(collection)) {
-            return;
+        MultiValueCache<T> multiValueCache = getMultiValueCache(cacheName);
+        if (ObjectUtil.isNotNull(multiValueCache)) {
+            multiValueCache.remove(key, value);
         }
-        collection.removeIf(t -> Objects.equals(t, value));
     }
 
     /**
@@ -222,11 +334,11 @@ public class BootCacheManager implements CacheManager {
      * @since 1.1.5
      */
     public <T extends BaseDomain> void delDomain(String cacheName, String key, T value) {
-        Collection<T> collection = getValByType(cacheName, key);
-        if (CollUtil.isEmpty(collection)) {
+        MultiValueCache<T> multiValueCache = getMultiValueCache(cacheName);
+        if (Objects.isNull(multiValueCache)) {
             return;
         }
-        collection.removeIf(t -> {
+        multiValueCache.removeIf(key, t -> {
             if (t == value) {
                 return true;
             } else if (Objects.isNull(t) || Objects.isNull(value)) {
@@ -274,6 +386,35 @@ public class BootCacheManager implements CacheManager {
         return null;
     }
 
+    /**
+     * 批量获取缓存的对象，缓存支持批量操作时只需一次请求
+     *
+     * @param cacheName 缓存名
+     * @param keys 键集合
+     *
+     * @return 存在的键与值的映射
+     *
+     * @since 1.1.6
+     */
+    public Map<String, Object> getAll(String cacheName, Collection<String> keys) {
+        Map<String, Object> map = new HashMap<>(keys.size() * 4 / 3 + 1);
+        Cache cache = getCache(cacheName);
+        if (Objects.isNull(cache)) {
+            return map;
+        }
+        if (cache instanceof BatchCache) {
+            ((BatchCache) cache).getAll(keys).forEach((k, v) -> map.put((String) k, v));
+            return map;
+        }
+        for (String key : keys) {
+            Cache.ValueWrapper wrapper = cache.get(key);
+            if (ObjectUtil.isNotNull(wrapper) && ObjectUtil.isNotNull(wrapper.get())) {
+                map.put(key, wrapper.get());
+            }
+        }
+        return map;
+    }
+
     /**
      * 获取缓存的对象，自动类型推断
      *
@@ -290,4 +431,20 @@ public class BootCacheManager implements CacheManager {
         Object value = getVal(cacheName, key);
         return Objects.isNull(value) ? null : (T) value;
     }
+
+    /**
+     * 批量删除缓存
+     *
+     * @param cache 缓存
+     * @param keys 键集合
+     *
+     * @since 1.1.6
+     */
+    private void evictAll(Cache cache, Collection<String> keys) {
+        if (cache instanceof BatchCache) {
+            ((BatchCache) cache).evictAll(keys);
+        } else {
+            keys.forEach(cache::evict);
+        }
+    }
 }
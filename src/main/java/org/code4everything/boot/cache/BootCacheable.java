@@ -0,0 +1,33 @@
+package org.code4everything.boot.cache;
+
+import java.lang.annotation.*;
+
+/**
+ * 缓存方法的返回值，缓存中存在时直接返回，不存在时调用方法并缓存返回值（为NULL时不缓存）。同一个键的并发调用只会执行一次方法
+ *
+ * @author pantao
+ * @since 1.1.6
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface BootCacheable {
+
+    /**
+     * 缓存名
+     *
+     * @return {@link String}
+     *
+     * @since 1.1.6
+     */
+    String value();
+
+    /**
+     * 键的表达式，见 {@link CacheKeyExpression}，为空时使用所有参数生成键
+     *
+     * @return {@link String}
+     *
+     * @since 1.1.6
+     */
+    String key() default "";
+}
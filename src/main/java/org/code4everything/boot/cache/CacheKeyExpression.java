@@ -0,0 +1,273 @@
+package org.code4everything.boot.cache;
+
+import cn.hutool.core.util.NumberUtil;
+import cn.hutool.core.util.StrUtil;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 编译后的缓存键表达式<br>表达式为包含占位符的模板，如 "user:{id}"、"{user.id}:{p1}"，占位符中为参数名（或 p0、a0 形式的参数索引），
+ * 之后可跟属性路径，属性通过getter或公共字段读取，{@link Map} 类型按键读取。表达式在编译时解析，属性访问器在编译时解析为
+ * {@link MethodHandle}，生成键时不再解析或反射查找。表达式为空时：无参数使用方法签名，单个参数使用该参数，多个参数用冒号连接
+ *
+ * @author pantao
+ * @since 1.1.6
+ */
+public final class CacheKeyExpression {
+
+    private static final ParameterNameDiscoverer NAME_DISCOVERER = new DefaultParameterNameDiscoverer();
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    /**
+     * 键的组成部分，为字符串常量或 {@link Accessor}
+     *
+     * @since 1.1.6
+     */
+    private final Object[] parts;
+
+    private CacheKeyExpression(Object[] parts) {
+        this.parts = parts;
+    }
+
+    /**
+     * 编译表达式
+     *
+     * @param method 方法
+     * @param expression 表达式
+     *
+     * @return {@link CacheKeyExpression}
+     *
+     * @throws IllegalArgumentException 表达式错误
+     * @since 1.1.6
+     */
+    public static CacheKeyExpression compile(Method method, String expression) {
+        Class<?>[] types = method.getParameterTypes();
+        if (StrUtil.isEmpty(expression)) {
+            if (types.length == 0) {
+                return new CacheKeyExpression(new Object[]{method.getDeclaringClass().getName() + "#" + method.getName()});
+            }
+            List<Object> parts = new ArrayList<>(types.length * 2);
+            for (int i = 0; i < types.length; i++) {
+                if (i > 0) {
+                    parts.add(":");
+                }
+                parts.add(new Accessor(i, new MethodHandle[0]));
+            }
+            return new CacheKeyExpression(parts.toArray());
+        }
+        String[] names = NAME_DISCOVERER.getParameterNames(method);
+        List<Object> parts = new ArrayList<>();
+        int start = 0;
+        while (start < expression.length()) {
+            int open = expression.indexOf('{', start);
+            if (open < 0) {
+                parts.add(expression.substring(start));
+                break;
+            }
+            int close = expression.indexOf('}', open);
+            if (close < 0) {
+                throw new IllegalArgumentException("unclosed placeholder in key expression: " + expression);
+            }
+            if (open > start) {
+                parts.add(expression.substring(start, open));
+            }
+            parts.add(compileAccessor(method, names, expression.substring(open + 1, close).trim()));
+            start = close + 1;
+        }
+        return new CacheKeyExpression(parts.toArray());
+    }
+
+    /**
+     * 生成键
+     *
+     * @param args 方法参数
+     *
+     * @return 键
+     *
+     * @since 1.1.6
+     */
+    public String generate(Object[] args) {
+        if (parts.length == 1 && parts[0] instanceof String) {
+            return (String) parts[0];
+        }
+        StringBuilder builder = new StringBuilder(32);
+        for (Object part : parts) {
+            if (part instanceof Accessor) {
+                builder.append(((Accessor) part).get(args));
+            } else {
+                builder.append((String) part);
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 编译占位符
+     *
+     * @param method 方法
+     * @param names 参数名
+     * @param path 占位符内容
+     *
+     * @return {@link Accessor}
+     *
+     * @since 1.1.6
+     */
+    private static Accessor compileAccessor(Method method, String[] names, String path) {
+        String[] segments = StrUtil.split(path, '.', true, true).toArray(new String[0]);
+        if (segments.length == 0) {
+            throw new IllegalArgumentException("empty placeholder in key expression of method: " + method);
+        }
+        int index = indexOf(method, names, segments[0]);
+        Class<?> type = method.getParameterTypes()[index];
+        MethodHandle[] getters = new MethodHandle[segments.length - 1];
+        for (int i = 1; i < segments.length; i++) {
+            getters[i - 1] = findGetter(type, segments[i]);
+            type = resolveType(type, segments[i]);
+        }
+        return new Accessor(index, getters);
+    }
+
+    /**
+     * 查找参数索引
+     *
+     * @since 1.1.6
+     */
+    private static int indexOf(Method method, String[] names, String name) {
+        if (Objects.nonNull(names)) {
+            for (int i = 0; i < names.length; i++) {
+                if (name.equals(names[i])) {
+                    return i;
+                }
+            }
+        }
+        if (name.length() > 1 && (name.charAt(0) == 'p' || name.charAt(0) == 'a') && NumberUtil.isInteger(name.substring(1))) {
+            int index = Integer.parseInt(name.substring(1));
+            if (index < method.getParameterCount()) {
+                return index;
+            }
+        }
+        throw new IllegalArgumentException("parameter '" + name + "' not found in method: " + method);
+    }
+
+    /**
+     * 获取属性的声明类型
+     *
+     * @since 1.1.6
+     */
+    private static Class<?> resolveType(Class<?> owner, String property) {
+        if (Map.class.isAssignableFrom(owner)) {
+            return Object.class;
+        }
+        Method getter = findGetterMethod(owner, property);
+        if (Objects.nonNull(getter)) {
+            return getter.getReturnType();
+        }
+        Field field = findField(owner, property);
+        return Objects.isNull(field) ? Object.class : field.getType();
+    }
+
+    /**
+     * 查找属性访问器，类型为 (Object)Object
+     *
+     * @since 1.1.6
+     */
+    private static MethodHandle findGetter(Class<?> owner, String property) {
+        try {
+            if (Map.class.isAssignableFrom(owner)) {
+                MethodHandle get = LOOKUP.findVirtual(Map.class, "get", MethodType.methodType(Object.class,
+                                                                                           Object.class));
+                return MethodHandles.insertArguments(get, 1, property).asType(GETTER_TYPE);
+            }
+            Method method = findGetterMethod(owner, property);
+            if (Objects.nonNull(method)) {
+                method.setAccessible(true);
+                return LOOKUP.unreflect(method).asType(GETTER_TYPE);
+            }
+            Field field = findField(owner, property);
+            if (Objects.nonNull(field)) {
+                field.setAccessible(true);
+                return LOOKUP.unreflectGetter(field).asType(GETTER_TYPE);
+            }
+        } catch (IllegalAccessException | NoSuchMethodException e) {
+            throw new IllegalArgumentException("cannot access property '" + property + "' of " + owner, e);
+        }
+        throw new IllegalArgumentException("property '" + property + "' not found in " + owner);
+    }
+
+    private static Method findGetterMethod(Class<?> owner, String property) {
+        String suffix = StrUtil.upperFirst(property);
+        for (String name : new String[]{"get" + suffix, "is" + suffix, property}) {
+            try {
+                Method method = owner.getMethod(name);
+                if (method.getReturnType() != void.class && !Modifier.isStatic(method.getModifiers())) {
+                    return method;
+                }
+            } catch (NoSuchMethodException e) {
+                // 尝试下一个名称
+            }
+        }
+        return null;
+    }
+
+    private static Field findField(Class<?> owner, String property) {
+        for (Class<?> clazz = owner; Objects.nonNull(clazz); clazz = clazz.getSuperclass()) {
+            try {
+                Field field = clazz.getDeclaredField(property);
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    return field;
+                }
+            } catch (NoSuchFieldException e) {
+                // 继续查找父类
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 参数及属性访问器
+     *
+     * @since 1.1.6
+     */
+    private static final class Accessor {
+
+        private final int index;
+
+        private final MethodHandle[] getters;
+
+        private Accessor(int index, MethodHandle[] getters) {
+            this.index = index;
+            this.getters = getters;
+        }
+
+        private Object get(Object[] args) {
+            Object value = args[index];
+            try {
+                for (MethodHandle getter : getters) {
+                    if (Objects.isNull(value)) {
+                        return null;
+                    }
+                    value = (Object) getter.invokeExact(value);
+                }
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("evaluate cache key failed: " + e.getMessage(), e);
+            }
+            return value;
+        }
+    }
+}
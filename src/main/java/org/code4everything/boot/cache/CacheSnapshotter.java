@@ -0,0 +1,405 @@
+package org.code4everything.boot.cache;
+
+import cn.hutool.core.util.ObjectUtil;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.code4everything.boot.cache.offheap.FastJsonValueSerializer;
+import org.code4everything.boot.cache.offheap.ValueSerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 缓存快照<br>将指定缓存中的数据导出到本地文件，重启后在接收请求前恢复，避免滚动发布时大量请求穿透到数据库。
+ * 每个缓存一个文件，格式为：魔数、版本、快照时间，之后依次为每条数据的过期时间、键和值（长度+字节），
+ * 以占据过期时间位置的-1结束。
+ * 写入时先写临时文件再原子地替换，恢复时跳过已过期的数据，未过期数据的剩余过期时间是否保留取决于
+ * {@link SnapshotableCache#restore(Object, Object, long)} 的实现。只支持实现了 {@link SnapshotableCache} 的缓存
+ *
+ * @author pantao
+ * @since 1.1.6
+ */
+public class CacheSnapshotter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CacheSnapshotter.class);
+
+    private static final int MAGIC = 0x42534E50;
+
+    private static final byte VERSION = 1;
+
+    private static final long END = -1;
+
+    private static final String SUFFIX = ".snapshot";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final long TERMINATION_TIMEOUT = 30;
+
+    private final BootCacheManager cacheManager;
+
+    private final Path directory;
+
+    private final ValueSerializer serializer;
+
+    /**
+     * 需要快照的缓存名与数据最长保留时间（毫秒）的映射，缓存无法提供单个值的过期时间时，使用快照时间加上保留时间作为过期时间
+     *
+     * @since 1.1.6
+     */
+    private final Map<String, Long> cacheTtlMap = new ConcurrentHashMap<>(16);
+
+    /**
+     * 每个缓存的快照锁，定时快照与退出时的快照不会同时写同一个临时文件
+     *
+     * @since 1.1.6
+     */
+    private final Map<String, Object> lockMap = new ConcurrentHashMap<>(16);
+
+    private volatile ScheduledExecutorService executor = null;
+
+    /**
+     * 构造函数，使用FastJson序列化键和值。快照文件来自磁盘，因此不开启AutoType，
+     * 只允许恢复FastJson内置的基础类型和指定前缀的类型
+     *
+     * @param cacheManager 缓存管理器
+     * @param directory 快照文件所在的目录
+     * @param acceptPrefixes 允许恢复的类名前缀，如包名
+     *
+     * @since 1.1.6
+     */
+    public CacheSnapshotter(BootCacheManager cacheManager, Path directory, String... acceptPrefixes) {
+        this(cacheManager, directory, new FastJsonValueSerializer(acceptPrefixes));
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param cacheManager 缓存管理器
+     * @param directory 快照文件所在的目录
+     * @param serializer 键和值的序列化器
+     *
+     * @since 1.1.6
+     */
+    public CacheSnapshotter(BootCacheManager cacheManager, Path directory, ValueSerializer serializer) {
+        Objects.requireNonNull(cacheManager, "cache manager must not be null");
+        Objects.requireNonNull(directory, "snapshot directory must not be null");
+        Objects.requireNonNull(serializer, "serializer must not be null");
+        this.cacheManager = cacheManager;
+        this.directory = directory;
+        this.serializer = serializer;
+    }
+
+    /**
+     * 添加需要快照的缓存
+     *
+     * @param cacheName 缓存名
+     * @param ttl 数据最长保留时间（毫秒），仅用于无法提供单个值过期时间的缓存，小于等于0时不过期
+     *
+     * @return {@link CacheSnapshotter}
+     *
+     * @since 1.1.6
+     */
+    public CacheSnapshotter register(String cacheName, long ttl) {
+        cacheTtlMap.put(cacheName, ttl);
+        return this;
+    }
+
+    /**
+     * 定时快照所有已添加的缓存，并在JVM退出时再快照一次
+     *
+     * @param period 周期
+     * @param unit 时间单位
+     *
+     * @since 1.1.6
+     */
+    public synchronized void schedule(long period, TimeUnit unit) {
+        if (ObjectUtil.isNotNull(executor)) {
+            executor.shutdownNow();
+        } else {
+            Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "boot-cache-snapshot-hook"));
+        }
+        executor = new ScheduledThreadPoolExecutor(1, new ThreadFactoryBuilder().setDaemon(true).setNameFormat(
+                "boot-cache-snapshot-%d").build());
+        executor.scheduleWithFixedDelay(this::snapshotAll, period, period, unit);
+    }
+
+    /**
+     * 停止定时快照并等待正在进行的快照结束，然后再快照一次
+     *
+     * @since 1.1.6
+     */
+    private void shutdown() {
+        ScheduledExecutorService current = executor;
+        if (ObjectUtil.isNotNull(current)) {
+            current.shutdown();
+            try {
+                current.awaitTermination(TERMINATION_TIMEOUT, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        snapshotAll();
+    }
+
+    /**
+     * 快照所有已添加的缓存，单个缓存失败时记录日志并继续
+     *
+     * @since 1.1.6
+     */
+    public void snapshotAll() {
+        cacheTtlMap.keySet().forEach(cacheName -> {
+            try {
+                snapshot(cacheName);
+            } catch (Exception e) {
+                LOGGER.error("snapshot cache '{}' failed: {}", cacheName, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 恢复所有已添加的缓存，应在接收请求前调用，单个缓存失败时记录日志并继续
+     *
+     * @since 1.1.6
+     */
+    public void restoreAll() {
+        cacheTtlMap.keySet().forEach(cacheName -> {
+            try {
+                restore(cacheName);
+            } catch (Exception e) {
+                LOGGER.error("restore cache '{}' failed: {}", cacheName, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 快照缓存
+     *
+     * @param cacheName 缓存名
+     *
+     * @return 导出的数据条数
+     *
+     * @throws IOException 写入文件失败
+     * @since 1.1.6
+     */
+    public int snapshot(String cacheName) throws IOException {
+        SnapshotableCache cache = requireSnapshotable(cacheName);
+        synchronized (lockMap.computeIfAbsent(cacheName, name -> new Object())) {
+            return snapshot(cacheName, cache);
+        }
+    }
+
+    private int snapshot(String cacheName, SnapshotableCache cache) throws IOException {
+        long now = System.currentTimeMillis();
+        long ttl = cacheTtlMap.getOrDefault(cacheName, 0L);
+        long defaultExpireAt = ttl > 0 ? now + ttl : 0;
+        Files.createDirectories(directory);
+        Path target = directory.resolve(cacheName + SUFFIX);
+        Path tmp = directory.resolve(cacheName + SUFFIX + ".tmp");
+        int[] count = {0};
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            buffer.putInt(MAGIC).put(VERSION).putLong(now);
+            try {
+                cache.forEachEntry((key, value, expireAt) -> {
+                    if (Objects.isNull(key) || Objects.isNull(value)) {
+                        return;
+                    }
+                    try {
+                        writeLong(channel, buffer, expireAt > 0 ? expireAt : defaultExpireAt);
+                        writeBytes(channel, buffer, serializer.serialize(key));
+                        writeBytes(channel, buffer, serializer.serialize(value));
+                        count[0]++;
+                    } catch (IOException e) {
+                        throw new SnapshotException(e);
+                    }
+                });
+            } catch (SnapshotException e) {
+                throw (IOException) e.getCause();
+            }
+            writeLong(channel, buffer, END);
+            flush(channel, buffer);
+            channel.force(false);
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return count[0];
+    }
+
+    /**
+     * 从快照中恢复缓存，跳过已过期的数据
+     *
+     * @param cacheName 缓存名
+     *
+     * @return 恢复的数据条数，快照不存在时返回0
+     *
+     * @throws IOException 读取文件失败或文件格式错误
+     * @since 1.1.6
+     */
+    public int restore(String cacheName) throws IOException {
+        SnapshotableCache cache = requireSnapshotable(cacheName);
+        Path file = directory.resolve(cacheName + SUFFIX);
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        int count = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            buffer.flip();
+            fill(channel, buffer, Integer.BYTES + 1 + Long.BYTES);
+            if (buffer.getInt() != MAGIC || buffer.get() != VERSION) {
+                throw new IOException("invalid snapshot file: " + file);
+            }
+            buffer.getLong();
+            long now = System.currentTimeMillis();
+            while (true) {
+                fill(channel, buffer, Long.BYTES);
+                long expireAt = buffer.getLong();
+                if (expireAt == END) {
+                    break;
+                }
+                byte[] key = readBytes(channel, buffer);
+                byte[] value = readBytes(channel, buffer);
+                if (expireAt > 0 && expireAt <= now) {
+                    continue;
+                }
+                cache.restore(serializer.deserialize(key), serializer.deserialize(value), expireAt);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 获取支持快照的缓存
+     *
+     * @param cacheName 缓存名
+     *
+     * @return 缓存
+     *
+     * @since 1.1.6
+     */
+    private SnapshotableCache requireSnapshotable(String cacheName) {
+        Cache cache = MetricsCache.unwrap(cacheManager.requireCache(cacheName));
+        if (cache instanceof SnapshotableCache) {
+            return (SnapshotableCache) cache;
+        }
+        throw new UnsupportedOperationException("cache '" + cacheName + "' does not support snapshot");
+    }
+
+    private static void writeLong(FileChannel channel, ByteBuffer buffer, long value) throws IOException {
+        ensure(channel, buffer, Long.BYTES);
+        buffer.putLong(value);
+    }
+
+    private static void writeBytes(FileChannel channel, ByteBuffer buffer, byte[] bytes) throws IOException {
+        ensure(channel, buffer, Integer.BYTES);
+        buffer.putInt(bytes.length);
+        if (bytes.length <= buffer.capacity()) {
+            ensure(channel, buffer, bytes.length);
+            buffer.put(bytes);
+        } else {
+            // 大于缓冲区的值直接写入
+            flush(channel, buffer);
+            ByteBuffer wrap = ByteBuffer.wrap(bytes);
+            while (wrap.hasRemaining()) {
+                channel.write(wrap);
+            }
+        }
+    }
+
+    /**
+     * 缓冲区剩余空间不足时写入文件
+     *
+     * @since 1.1.6
+     */
+    private static void ensure(FileChannel channel, ByteBuffer buffer, int size) throws IOException {
+        if (buffer.remaining() < size) {
+            flush(channel, buffer);
+        }
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * 读取长度和字节
+     *
+     * @return 字节
+     *
+     * @since 1.1.6
+     */
+    private static byte[] readBytes(FileChannel channel, ByteBuffer buffer) throws IOException {
+        fill(channel, buffer, Integer.BYTES);
+        int length = buffer.getInt();
+        if (length < 0) {
+            throw new IOException("corrupted snapshot file");
+        }
+        byte[] bytes = new byte[length];
+        if (length <= buffer.capacity()) {
+            fill(channel, buffer, length);
+            buffer.get(bytes);
+            return bytes;
+        }
+        // 大于缓冲区的值直接读取
+        int offset = buffer.remaining();
+        buffer.get(bytes, 0, offset);
+        ByteBuffer wrap = ByteBuffer.wrap(bytes, offset, length - offset);
+        while (wrap.hasRemaining()) {
+            if (channel.read(wrap) < 0) {
+                throw new EOFException("unexpected end of snapshot file");
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * 保证缓冲区中至少有指定数量的可读字节
+     *
+     * @since 1.1.6
+     */
+    private static void fill(FileChannel channel, ByteBuffer buffer, int size) throws IOException {
+        if (buffer.remaining() >= size) {
+            return;
+        }
+        buffer.compact();
+        while (buffer.position() < size) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("unexpected end of snapshot file");
+            }
+        }
+        buffer.flip();
+    }
+
+    /**
+     * 在遍历回调中传递IO异常
+     *
+     * @since 1.1.6
+     */
+    private static final class SnapshotException extends RuntimeException {
+
+        private static final long serialVersionUID = -3270155393567924107L;
+
+        private SnapshotException(IOException cause) {
+            super(cause);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package org.code4everything.boot.cache;
+
+import org.code4everything.boot.base.bean.BaseBean;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * 缓存统计快照
+ *
+ * @author pantao
+ * @since 1.1.6
+ */
+public class CacheStats implements BaseBean, Serializable {
+
+    private static final long serialVersionUID = 4613078124563017295L;
+
+    /**
+     * 加载耗时分布的上界（毫秒），最后一个区间没有上界
+     *
+     * @since 1.1.6
+     */
+    public static final long[] LOAD_TIME_BOUNDS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000};
+
+    private String name;
+
+    private long hitCount;
+
+    private long missCount;
+
+    private long putCount;
+
+    private long evictionCount;
+
+    private long loadSuccessCount;
+
+    private long loadFailureCount;
+
+    /**
+     * 总加载耗时（纳秒）
+     *
+     * @since 1.1.6
+     */
+    private long totalLoadTime;
+
+    /**
+     * 加载耗时分布，长度为 {@link #LOAD_TIME_BOUNDS} 的长度加一
+     *
+     * @since 1.1.6
+     */
+    private long[] loadTimeHistogram;
+
+    public CacheStats() {}
+
+    public CacheStats(String name, long hitCount, long missCount, long putCount, long evictionCount,
+                      long loadSuccessCount, long loadFailureCount, long totalLoadTime, long[] loadTimeHistogram) {
+        this.name = name;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.putCount = putCount;
+        this.evictionCount = evictionCount;
+        this.loadSuccessCount = loadSuccessCount;
+        this.loadFailureCount = loadFailureCount;
+        this.totalLoadTime = totalLoadTime;
+        this.loadTimeHistogram = loadTimeHistogram;
+    }
+
+    /**
+     * 请求次数
+     *
+     * @return 命中次数与未命中次数之和
+     *
+     * @since 1.1.6
+     */
+    public long requestCount() {
+        return hitCount + missCount;
+    }
+
+    /**
+     * 命中率
+     *
+     * @return 命中率，没有请求时返回1
+     *
+     * @since 1.1.6
+     */
+    public double hitRate() {
+        long requestCount = requestCount();
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    /**
+     * 平均加载耗时（纳秒）
+     *
+     * @return 平均加载耗时，没有加载时返回0
+     *
+     * @since 1.1.6
+     */
+    public double averageLoadPenalty() {
+        long loadCount = loadSuccessCount + loadFailureCount;
+        return loadCount == 0 ? 0.0 : (double) totalLoadTime / loadCount;
+    }
+
+    @Override
+    public boolean hasValue() {
+        return requestCount() > 0 || putCount > 0;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public void setHitCount(long hitCount) {
+        this.hitCount = hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public void setMissCount(long missCount) {
+        this.missCount = missCount;
+    }
+
+    public long getPutCount() {
+        return putCount;
+    }
+
+    public void setPutCount(long putCount) {
+        this.putCount = putCount;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public void setEvictionCount(long evictionCount) {
+        this.evictionCount = evictionCount;
+    }
+
+    public long getLoadSuccessCount() {
+        return loadSuccessCount;
+    }
+
+    public void setLoadSuccessCount(long loadSuccessCount) {
+        this.loadSuccessCount = loadSuccessCount;
+    }
+
+    public long getLoadFailureCount() {
+        return loadFailureCount;
+    }
+
+    public void setLoadFailureCount(long loadFailureCount) {
+        this.loadFailureCount = loadFailureCount;
+    }
+
+    public long getTotalLoadTime() {
+        return totalLoadTime;
+    }
+
+    public void setTotalLoadTime(long totalLoadTime) {
+        this.totalLoadTime = totalLoadTime;
+    }
+
+    public long[] getLoadTimeHistogram() {
+        return loadTimeHistogram;
+    }
+
+    public void setLoadTimeHistogram(long[] loadTimeHistogram) {
+        this.loadTimeHistogram = loadTimeHistogram;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{" + "name='" + name + '\'' + ", hitCount=" + hitCount + ", missCount=" + missCount + ", " +
+                "putCount=" + putCount + ", evictionCount=" + evictionCount + ", loadSuccessCount=" + loadSuccessCount + ", loadFailureCount=" + loadFailureCount + ", totalLoadTime=" + totalLoadTime + ", loadTimeHistogram=" + Arrays.toString(loadTimeHistogram) + '}';
+    }
+}
@@ -3,7 +3,11 @@ package org.code4everything.boot.cache;
 import cn.hutool.core.collection.CollUtil;
 import com.google.common.cache.CacheBuilder;
 import org.code4everything.boot.cache.guava.GuavaCache;
+import org.code4everything.boot.cache.guava.GuavaCacheCreator;
 import org.code4everything.boot.cache.guava.GuavaCacheManager;
+import org.code4everything.boot.cache.tinylfu.TinyLfuCacheCreator;
+import org.code4everything.boot.cache.twolevel.TwoLevelCacheCreator;
+import org.code4everything.boot.cache.twolevel.TwoLevelCacheManager;
 import org.springframework.cache.Cache;
 
 import java.util.ArrayList;
@@ -87,6 +91,76 @@ public class CacheUtils {
         return new GuavaCacheManager(caches, cacheBuilder);
     }
 
+    /**
+     * 新建支持提前刷新的缓存管理器，值超过软过期时间后返回旧值并在后台刷新，超过硬过期时间后同步加载
+     *
+     * @param cacheBuilder 缓存创建者
+     * @param refreshPolicy 提前刷新策略
+     * @param names 缓存名集合
+     *
+     * @return 缓存管理器
+     *
+     * @since 1.1.6
+     */
+    public static GuavaCacheManager newGuavaCacheManager(CacheBuilder<Object, Object> cacheBuilder,
+                                                         RefreshPolicy refreshPolicy, String... names) {
+        return newGuavaCacheManager(cacheBuilder, refreshPolicy, Arrays.asList(names));
+    }
+
+    /**
+     * 新建支持提前刷新的缓存管理器，值超过软过期时间后返回旧值并在后台刷新，超过硬过期时间后同步加载
+     *
+     * @param cacheBuilder 缓存创建者
+     * @param refreshPolicy 提前刷新策略
+     * @param names 缓存名集合
+     *
+     * @return 缓存管理器
+     *
+     * @since 1.1.6
+     */
+    public static GuavaCacheManager newGuavaCacheManager(CacheBuilder<Object, Object> cacheBuilder,
+                                                         RefreshPolicy refreshPolicy, Collection<String> names) {
+        GuavaCacheCreator creator = new GuavaCacheCreator(cacheBuilder, refreshPolicy);
+        if (CollUtil.isEmpty(names)) {
+            return new GuavaCacheManager(creator);
+        }
+        Collection<GuavaCache> caches = new ArrayList<>(names.size());
+        names.forEach(name -> caches.add(creator.createCache(name)));
+        return new GuavaCacheManager(caches, creator);
+    }
+
+    // ---------------------------------------TinyLFU-------------------------------------------------------------------
+
+    /**
+     * 新建 W-TinyLFU 缓存管理器，可替代按容量淘汰的Guava缓存管理器
+     *
+     * @param maximumSize 每个缓存的最大键数量
+     * @param names 缓存名集合
+     *
+     * @return 缓存管理器
+     *
+     * @since 1.1.6
+     */
+    public static BootCacheManager newTinyLfuCacheManager(int maximumSize, String... names) {
+        return newCacheManager(new TinyLfuCacheCreator(maximumSize), names);
+    }
+
+    // ---------------------------------------TwoLevel------------------------------------------------------------------
+
+    /**
+     * 新建二级缓存管理器，一级为本地Guava缓存，二级为Redis缓存
+     *
+     * @param cacheBuilder 一级缓存创建者
+     * @param ttl Redis中的过期时间（毫秒），小于等于0时不过期
+     *
+     * @return 缓存管理器
+     *
+     * @since 1.1.6
+     */
+    public static TwoLevelCacheManager newTwoLevelCacheManager(CacheBuilder<Object, Object> cacheBuilder, long ttl) {
+        return new TwoLevelCacheManager(new TwoLevelCacheCreator(cacheBuilder, ttl));
+    }
+
     // --------------------------------------------Custom---------------------------------------------------------------
 
     /**
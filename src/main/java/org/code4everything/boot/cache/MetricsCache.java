@@ -0,0 +1,224 @@
+package org.code4everything.boot.cache;
+
+import org.springframework.cache.Cache;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 带统计的缓存<br>包装任意的 {@link Cache}，记录命中、未命中、写入、删除次数和加载耗时分布，计数使用分段计数器，不会在热点键上产生竞争
+ *
+ * @author pantao
+ * @since 1.1.6
+ */
+@ThreadSafe
+public class MetricsCache implements BatchCache {
+
+    private final Cache delegate;
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private final LongAdder putCount = new LongAdder();
+
+    private final LongAdder evictionCount = new LongAdder();
+
+    private final LongAdder loadSuccessCount = new LongAdder();
+
+    private final LongAdder loadFailureCount = new LongAdder();
+
+    private final LongAdder totalLoadTime = new LongAdder();
+
+    private final LongAdder[] loadTimeHistogram = new LongAdder[CacheStats.LOAD_TIME_BOUNDS.length + 1];
+
+    /**
+     * 构造函数
+     *
+     * @param delegate 被统计的缓存
+     *
+     * @since 1.1.6
+     */
+    public MetricsCache(Cache delegate) {
+        Objects.requireNonNull(delegate, "cache must not be null");
+        this.delegate = delegate;
+        for (int i = 0; i < loadTimeHistogram.length; i++) {
+            loadTimeHistogram[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * 去掉统计包装
+     *
+     * @param cache 缓存
+     *
+     * @return 原始缓存
+     *
+     * @since 1.1.6
+     */
+    public static Cache unwrap(Cache cache) {
+        return cache instanceof MetricsCache ? ((MetricsCache) cache).delegate : cache;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return record(delegate.get(key));
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return record(delegate.get(key, type));
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        boolean[] loaded = {false};
+        T value = delegate.get(key, () -> {
+            loaded[0] = true;
+            long start = System.nanoTime();
+            try {
+                T t = valueLoader.call();
+                recordLoad(System.nanoTime() - start, true);
+                return t;
+            } catch (Exception | Error e) {
+                recordLoad(System.nanoTime() - start, false);
+                throw e;
+            }
+        });
+        // 加载器可能在其他线程中执行（等待其他线程的加载结果），此时计为命中
+        (loaded[0] ? missCount : hitCount).increment();
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+        putCount.increment();
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper wrapper = delegate.putIfAbsent(key, value);
+        if (Objects.isNull(wrapper)) {
+            putCount.increment();
+        }
+        return wrapper;
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+        evictionCount.increment();
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        if (!(delegate instanceof BatchCache)) {
+            // 逐个获取时已经计数
+            return BatchCache.super.getAll(keys);
+        }
+        Map<Object, Object> map = ((BatchCache) delegate).getAll(keys);
+        hitCount.add(map.size());
+        missCount.add(keys.size() - map.size());
+        return map;
+    }
+
+    @Override
+    public void putAll(Map<?, ?> map) {
+        if (delegate instanceof BatchCache) {
+            ((BatchCache) delegate).putAll(map);
+            putCount.add(map.size());
+        } else {
+            BatchCache.super.putAll(map);
+        }
+    }
+
+    @Override
+    public void evictAll(Collection<?> keys) {
+        if (delegate instanceof BatchCache) {
+            ((BatchCache) delegate).evictAll(keys);
+            evictionCount.add(keys.size());
+        } else {
+            BatchCache.super.evictAll(keys);
+        }
+    }
+
+    /**
+     * 获取统计快照，原生缓存为Guava缓存且开启了统计时，删除次数包含因容量和过期被淘汰的次数
+     *
+     * @return {@link CacheStats}
+     *
+     * @since 1.1.6
+     */
+    public CacheStats stats() {
+        long evictions = evictionCount.sum();
+        Object nativeCache = delegate.getNativeCache();
+        if (nativeCache instanceof com.google.common.cache.Cache) {
+            evictions += ((com.google.common.cache.Cache) nativeCache).stats().evictionCount();
+        }
+        long[] histogram = new long[loadTimeHistogram.length];
+        for (int i = 0; i < histogram.length; i++) {
+            histogram[i] = loadTimeHistogram[i].sum();
+        }
+        return new CacheStats(getName(), hitCount.sum(), missCount.sum(), putCount.sum(), evictions,
+                              loadSuccessCount.sum(), loadFailureCount.sum(), totalLoadTime.sum(), histogram);
+    }
+
+    public Cache getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * 记录一次查询
+     *
+     * @param value 查询结果
+     * @param <T> 结果类型
+     *
+     * @return 查询结果
+     *
+     * @since 1.1.6
+     */
+    private <T> T record(T value) {
+        (Objects.isNull(value) ? missCount : hitCount).increment();
+        return value;
+    }
+
+    /**
+     * 记录一次加载
+     *
+     * @param nanos 耗时（纳秒）
+     * @param success 是否成功
+     *
+     * @since 1.1.6
+     */
+    private void recordLoad(long nanos, boolean success) {
+        (success ? loadSuccessCount : loadFailureCount).increment();
+        totalLoadTime.add(nanos);
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        int i = 0;
+        while (i < CacheStats.LOAD_TIME_BOUNDS.length && millis >= CacheStats.LOAD_TIME_BOUNDS[i]) {
+            i++;
+        }
+        loadTimeHistogram[i].increment();
+    }
+}
@@ -0,0 +1,267 @@
+package org.code4everything.boot.cache;
+
+import org.springframework.cache.Cache;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.lang.reflect.Constructor;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * 多值缓存<br>一个键对应一个列表，同一个键的修改在分段锁内原子地完成：复制当前列表、修改、再整体写回缓存，
+ * 缓存中的列表写入后不会再被修改，读取时无需加锁，也适用于Redis等需要写回才能生效的缓存；键对应的值不是集合时不会修改。
+ * 缓存中的值是其他集合（如 {@link Set}）时，修改后按原来的集合类型写回，保留集合的语义。
+ * 限制了列表长度时，超出的部分从最早添加的值开始淘汰。注意：分段锁是本地的，原子性只在同一个JVM内成立，
+ * 多个实例共享同一个分布式缓存（如Redis）时，不同实例对同一个键的修改仍可能相互覆盖
+ *
+ * @param <V> 值类型
+ *
+ * @author pantao
+ * @since 1.1.6
+ */
+@ThreadSafe
+public class MultiValueCache<V> {
+
+    /**
+     * 分段锁，所有多值缓存共享，保证包装同一个缓存的不同实例之间也是互斥的
+     *
+     * @since 1.1.6
+     */
+    private static final Object[] LOCKS = new Object[64];
+
+    /**
+     * 集合类型的无参构造函数，每个类型只查找一次，没有公开的无参构造函数时为NULL
+     *
+     * @since 1.1.6
+     */
+    private static final ClassValue<Constructor<?>> CONSTRUCTORS = new ClassValue<Constructor<?>>() {
+        @Override
+        protected Constructor<?> computeValue(Class<?> type) {
+            try {
+                return type.getConstructor();
+            } catch (NoSuchMethodException | SecurityException e) {
+                return null;
+            }
+        }
+    };
+
+    static {
+        for (int i = 0; i < LOCKS.length; i++) {
+            LOCKS[i] = new Object();
+        }
+    }
+
+    private final Cache cache;
+
+    /**
+     * 列表的最大长度，小于等于0时不限制
+     *
+     * @since 1.1.6
+     */
+    private final int maxSize;
+
+    /**
+     * 构造函数
+     *
+     * @param cache 缓存
+     * @param maxSize 列表的最大长度，小于等于0时不限制
+     *
+     * @since 1.1.6
+     */
+    public MultiValueCache(Cache cache, int maxSize) {
+        Objects.requireNonNull(cache, "cache must not be null");
+        this.cache = cache;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * 获取键对应的列表
+     *
+     * @param key 键
+     *
+     * @return 不可修改的列表，不存在时返回空列表
+     *
+     * @since 1.1.6
+     */
+    public List<V> get(Object key) {
+        Collection<V> collection = current(key);
+        if (Objects.isNull(collection)) {
+            return Collections.emptyList();
+        }
+        List<V> list = collection instanceof List ? (List<V>) collection : new ArrayList<>(collection);
+        return Collections.unmodifiableList(list);
+    }
+
+    /**
+     * 添加一个值
+     *
+     * @param key 键
+     * @param value 值
+     *
+     * @return 是否添加成功，键对应的值不是集合时不会添加
+     *
+     * @since 1.1.6
+     */
+    public boolean add(Object key, V value) {
+        return compute(key, list -> {
+            list.add(value);
+            return list;
+        });
+    }
+
+    /**
+     * 删除与之相等的值
+     *
+     * @param key 键
+     * @param value 值
+     *
+     * @return 是否删除成功
+     *
+     * @since 1.1.6
+     */
+    public boolean remove(Object key, V value) {
+        return removeIf(key, v -> Objects.equals(v, value));
+    }
+
+    /**
+     * 删除满足条件的值
+     *
+     * @param key 键
+     * @param filter 删除条件
+     *
+     * @return 是否删除成功
+     *
+     * @since 1.1.6
+     */
+    public boolean removeIf(Object key, Predicate<? super V> filter) {
+        boolean[] removed = {false};
+        compute(key, list -> {
+            removed[0] = list.removeIf(filter);
+            // 没有变化时无需写回
+            return removed[0] ? list : null;
+        });
+        return removed[0];
+    }
+
+    /**
+     * 原子地修改键对应的列表
+     *
+     * @param key 键
+     * @param function 修改函数，参数为当前列表（或集合）的副本，返回NULL时不写回
+     *
+     * @return 是否已修改，键对应的值不是集合时不会修改
+     *
+     * @since 1.1.6
+     */
+    public boolean compute(Object key, UnaryOperator<List<V>> function) {
+        synchronized (lockOf(key)) {
+            Collection<V> current = current(key);
+            if (Objects.isNull(current)) {
+                return false;
+            }
+            // 预留一个位置，添加值时不会再次扩容复制
+            List<V> copy = new ArrayList<>(current.size() + 1);
+            copy.addAll(current);
+            List<V> list = function.apply(copy);
+            if (Objects.isNull(list)) {
+                return false;
+            }
+            if (current instanceof List) {
+                if (maxSize > 0 && list.size() > maxSize) {
+                    if (list == copy) {
+                        // 就地删除最早添加的值，不再复制
+                        list.subList(0, list.size() - maxSize).clear();
+                    } else {
+                        list = new ArrayList<>(list.subList(list.size() - maxSize, list.size()));
+                    }
+                }
+                cache.put(key, list);
+            } else {
+                cache.put(key, copyOf(current, list));
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 按原来的集合类型复制修改后的值，超出最大长度时淘汰迭代顺序靠前的值
+     *
+     * @param origin 缓存中原来的集合
+     * @param values 修改后的值
+     *
+     * @return 新的集合
+     *
+     * @since 1.1.6
+     */
+    @SuppressWarnings("unchecked")
+    private Collection<V> copyOf(Collection<V> origin, List<V> values) {
+        Collection<V> collection = null;
+        if (origin instanceof SortedSet) {
+            collection = new TreeSet<>(((SortedSet<V>) origin).comparator());
+        } else {
+            Constructor<?> constructor = CONSTRUCTORS.get(origin.getClass());
+            if (Objects.nonNull(constructor)) {
+                try {
+                    collection = (Collection<V>) constructor.newInstance();
+                } catch (ReflectiveOperationException | RuntimeException e) {
+                    // 按集合的语义选择实现
+                }
+            }
+            if (Objects.isNull(collection)) {
+                // 无法创建原来的类型时，按集合的语义选择实现
+                collection = origin instanceof Set ? new LinkedHashSet<>() : new ArrayList<>();
+            }
+        }
+        collection.addAll(values);
+        if (maxSize > 0 && collection.size() > maxSize) {
+            Iterator<V> iterator = collection.iterator();
+            for (int i = collection.size() - maxSize; i > 0; i--) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+        return collection;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * 获取缓存中的集合，不会复制
+     *
+     * @param key 键
+     *
+     * @return 集合，不存在时返回空列表，值不是集合时返回NULL
+     *
+     * @since 1.1.6
+     */
+    @SuppressWarnings("unchecked")
+    private Collection<V> current(Object key) {
+        Cache.ValueWrapper wrapper = cache.get(key);
+        Object value = Objects.isNull(wrapper) ? null : wrapper.get();
+        if (Objects.isNull(value)) {
+            return Collections.emptyList();
+        }
+        return value instanceof Collection ? (Collection<V>) value : null;
+    }
+
+    /**
+     * 获取键对应的锁
+     *
+     * @param key 键
+     *
+     * @return 锁
+     *
+     * @since 1.1.6
+     */
+    private Object lockOf(Object key) {
+        int hash = 31 * cache.getName().hashCode() + Objects.hashCode(key);
+        return LOCKS[(hash ^ (hash >>> 16)) & (LOCKS.length - 1)];
+    }
+}
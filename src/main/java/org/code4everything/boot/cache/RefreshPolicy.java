@@ -0,0 +1,186 @@
+package org.code4everything.boot.cache;
+
+import com.google.common.base.Ticker;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.Objects;
+import java.util.concurrent.*;
+
+/**
+ * 缓存提前刷新策略<br>写入时间超过软过期时间的值仍会返回（旧值），同时由后台线程池重新加载；超过硬过期时间的值视为不存在，
+ * 需要同步加载。同一个键同一时刻最多只有一个刷新任务
+ *
+ * @author pantao
+ * @since 1.1.6
+ */
+@ThreadSafe
+public final class RefreshPolicy {
+
+    /**
+     * 默认的刷新线程池，线程数和队列长度都是有限的，队列满时放弃刷新，继续返回旧值
+     *
+     * @since 1.1.6
+     */
+    private static volatile ExecutorService defaultExecutor = null;
+
+    /**
+     * 软过期时间（纳秒）
+     *
+     * @since 1.1.6
+     */
+    private final long softTtl;
+
+    /**
+     * 硬过期时间（纳秒）
+     *
+     * @since 1.1.6
+     */
+    private final long hardTtl;
+
+    /**
+     * 刷新线程池
+     *
+     * @since 1.1.6
+     */
+    private final Executor executor;
+
+    /**
+     * 读取写入时间和当前时间的时钟（纳秒）
+     *
+     * @since 1.1.6
+     */
+    private final Ticker ticker;
+
+    /**
+     * 构造函数
+     *
+     * @param softTtl 软过期时间
+     * @param hardTtl 硬过期时间，必须大于软过期时间
+     * @param unit 时间单位
+     * @param executor 刷新线程池，建议使用有界队列
+     *
+     * @since 1.1.6
+     */
+    public RefreshPolicy(long softTtl, long hardTtl, TimeUnit unit, Executor executor) {
+        this(softTtl, hardTtl, unit, executor, Ticker.systemTicker());
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param softTtl 软过期时间
+     * @param hardTtl 硬过期时间，必须大于软过期时间
+     * @param unit 时间单位
+     * @param executor 刷新线程池，建议使用有界队列
+     * @param ticker 时钟，默认为 {@link Ticker#systemTicker()}
+     *
+     * @since 1.1.6
+     */
+    public RefreshPolicy(long softTtl, long hardTtl, TimeUnit unit, Executor executor, Ticker ticker) {
+        Objects.requireNonNull(unit, "time unit must not be null");
+        Objects.requireNonNull(executor, "refresh executor must not be null");
+        Objects.requireNonNull(ticker, "ticker must not be null");
+        if (softTtl <= 0 || hardTtl <= softTtl) {
+            throw new IllegalArgumentException("require 0 < softTtl < hardTtl");
+        }
+        this.softTtl = unit.toNanos(softTtl);
+        this.hardTtl = unit.toNanos(hardTtl);
+        this.executor = executor;
+        this.ticker = ticker;
+    }
+
+    /**
+     * 使用默认刷新线程池的策略
+     *
+     * @param softTtl 软过期时间
+     * @param hardTtl 硬过期时间，必须大于软过期时间
+     * @param unit 时间单位
+     *
+     * @return {@link RefreshPolicy}
+     *
+     * @since 1.1.6
+     */
+    public static RefreshPolicy of(long softTtl, long hardTtl, TimeUnit unit) {
+        return new RefreshPolicy(softTtl, hardTtl, unit, getDefaultExecutor());
+    }
+
+    /**
+     * 获取默认的刷新线程池
+     *
+     * @return 线程池
+     *
+     * @since 1.1.6
+     */
+    public static ExecutorService getDefaultExecutor() {
+        if (Objects.isNull(defaultExecutor)) {
+            synchronized (RefreshPolicy.class) {
+                if (Objects.isNull(defaultExecutor)) {
+                    ThreadFactory factory = new ThreadFactoryBuilder().setDaemon(true).setNameFormat(
+                            "boot-cache-refresh-%d").build();
+                    int threads = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+                    ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                                                                         new ArrayBlockingQueue<>(1024), factory);
+                    executor.allowCoreThreadTimeOut(true);
+                    defaultExecutor = executor;
+                }
+            }
+        }
+        return defaultExecutor;
+    }
+
+    /**
+     * 是否需要刷新
+     *
+     * @param writeTime 写入时间（{@link #read()}）
+     * @param now 当前时间（{@link #read()}）
+     *
+     * @return 是否需要刷新
+     *
+     * @since 1.1.6
+     */
+    public boolean isStale(long writeTime, long now) {
+        return now - writeTime >= softTtl;
+    }
+
+    /**
+     * 是否已过期
+     *
+     * @param writeTime 写入时间（{@link #read()}）
+     * @param now 当前时间（{@link #read()}）
+     *
+     * @return 是否已过期
+     *
+     * @since 1.1.6
+     */
+    public boolean isExpired(long writeTime, long now) {
+        return now - writeTime >= hardTtl;
+    }
+
+    public long getSoftTtl(TimeUnit unit) {
+        return unit.convert(softTtl, TimeUnit.NANOSECONDS);
+    }
+
+    public long getHardTtl(TimeUnit unit) {
+        return unit.convert(hardTtl, TimeUnit.NANOSECONDS);
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    public Ticker getTicker() {
+        return ticker;
+    }
+
+    /**
+     * 读取当前时间
+     *
+     * @return 当前时间（纳秒）
+     *
+     * @since 1.1.6
+     */
+    public long read() {
+        return ticker.read();
+    }
+}
@@ -0,0 +1,56 @@
+package org.code4everything.boot.cache;
+
+import org.springframework.cache.Cache;
+
+/**
+ * 支持快照的缓存，用于 {@link CacheSnapshotter} 导出和恢复缓存中的数据
+ *
+ * @author pantao
+ * @since 1.1.6
+ */
+public interface SnapshotableCache extends Cache {
+
+    /**
+     * 遍历缓存中的数据，遍历期间的修改可能不可见
+     *
+     * @param consumer 数据消费者
+     *
+     * @since 1.1.6
+     */
+    void forEachEntry(EntryConsumer consumer);
+
+    /**
+     * 恢复一条数据，缓存支持单独设置过期时间时请重写此方法。默认实现直接调用 {@link #put(Object, Object)}，
+     * 不保留剩余的过期时间：Guava、TinyLFU和堆外缓存恢复的数据会重新获得缓存完整的过期时间，
+     * 只有已过期的数据会被 {@link CacheSnapshotter} 跳过
+     *
+     * @param key 键
+     * @param value 值
+     * @param expireAt 过期时间戳（毫秒），小于等于0时表示未知
+     *
+     * @since 1.1.6
+     */
+    default void restore(Object key, Object value, long expireAt) {
+        put(key, value);
+    }
+
+    /**
+     * 数据消费者
+     *
+     * @since 1.1.6
+     */
+    @FunctionalInterface
+    interface EntryConsumer {
+
+        /**
+         * 消费一条数据
+         *
+         * @param key 键
+         * @param value 值
+         * @param expireAt 过期时间戳（毫秒），小于等于0时表示未知
+         *
+         * @since 1.1.6
+         */
+        void accept(Object key, Object value, long expireAt);
+    }
+}
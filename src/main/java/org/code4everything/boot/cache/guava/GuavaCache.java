@@ -2,9 +2,16 @@ package org.code4everything.boot.cache.guava;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import org.code4everything.boot.cache.AbstractCache;
+import org.code4everything.boot.cache.SnapshotableCache;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 
 /**
  * 谷歌Guava缓存
@@ -12,7 +19,7 @@ import java.util.concurrent.Callable;
  * @author pantao
  * @since 2019/6/13
  */
-public class GuavaCache extends AbstractCache {
+public class GuavaCache extends AbstractCache implements SnapshotableCache {
 
     /**
      * @since 1.1.3
@@ -55,8 +62,22 @@ public class GuavaCache extends AbstractCache {
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public <T> T get(Object key, Callable<T> valueLoader) {
-        return convert2(cache.getIfPresent(key), valueLoader);
+        try {
+            // Guava 保证同一个键只加载一次，并原子地缓存加载的值
+            return (T) cache.get(key, valueLoader);
+        } catch (CacheLoader.InvalidCacheLoadException e) {
+            // 加载器返回了空值
+            return null;
+        } catch (ExecutionException | UncheckedExecutionException | ExecutionError e) {
+            throw new ValueRetrievalException(key, valueLoader, e.getCause());
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return wrapValueIfNotNull(cache.asMap().putIfAbsent(key, value));
     }
 
     @Override
@@ -69,6 +90,27 @@ public class GuavaCache extends AbstractCache {
         cache.invalidate(key);
     }
 
+    @Override
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        return cache.getAllPresent(keys);
+    }
+
+    @Override
+    public void forEachEntry(EntryConsumer consumer) {
+        // Guava不提供单个值的过期时间
+        cache.asMap().forEach((key, value) -> consumer.accept(key, value, 0));
+    }
+
+    @Override
+    public void putAll(Map<?, ?> map) {
+        cache.putAll(map);
+    }
+
+    @Override
+    public void evictAll(Collection<?> keys) {
+        cache.invalidateAll(keys);
+    }
+
     @Override
     public void clear() {
         cache.invalidateAll();
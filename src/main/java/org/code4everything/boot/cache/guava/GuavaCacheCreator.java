@@ -2,8 +2,10 @@ package org.code4everything.boot.cache.guava;
 
 import com.google.common.cache.CacheBuilder;
 import org.code4everything.boot.cache.CacheCreator;
+import org.code4everything.boot.cache.RefreshPolicy;
 
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 谷歌Guava缓存创建者
@@ -18,6 +20,13 @@ public class GuavaCacheCreator implements CacheCreator {
      */
     protected final CacheBuilder<Object, Object> cacheBuilder;
 
+    /**
+     * 提前刷新策略，为空时不提前刷新
+     *
+     * @since 1.1.6
+     */
+    protected final RefreshPolicy refreshPolicy;
+
     /**
      * 构造函数
      *
@@ -26,12 +35,46 @@ public class GuavaCacheCreator implements CacheCreator {
      * @since 1.1.3
      */
     public GuavaCacheCreator(CacheBuilder<Object, Object> cacheBuilder) {
+        this(cacheBuilder, null);
+    }
+
+    /**
+     * 构造函数，有提前刷新策略时在 {@link CacheBuilder} 上设置硬过期时间的写入后过期和策略的时钟，
+     * 超过硬过期时间且不再被读取的值也会被淘汰；{@link CacheBuilder} 已经设置了写入后过期或时钟时保留原有设置
+     *
+     * @param cacheBuilder {@link CacheBuilder}
+     * @param refreshPolicy 提前刷新策略，为空时不提前刷新
+     *
+     * @since 1.1.6
+     */
+    public GuavaCacheCreator(CacheBuilder<Object, Object> cacheBuilder, RefreshPolicy refreshPolicy) {
         Objects.requireNonNull(cacheBuilder, "guava cache builder must not be null");
         this.cacheBuilder = cacheBuilder;
+        this.refreshPolicy = refreshPolicy;
+        if (Objects.nonNull(refreshPolicy)) {
+            expireAfterHardTtl(cacheBuilder, refreshPolicy);
+        }
     }
 
     @Override
     public GuavaCache createCache(String cacheName) {
-        return new GuavaCache(cacheName, cacheBuilder.build());
+        if (Objects.isNull(refreshPolicy)) {
+            return new GuavaCache(cacheName, cacheBuilder.build());
+        }
+        return new RefreshAheadGuavaCache(cacheName, cacheBuilder.build(), refreshPolicy);
+    }
+
+    private static void expireAfterHardTtl(CacheBuilder<Object, Object> cacheBuilder, RefreshPolicy refreshPolicy) {
+        // CacheBuilder 不提供读取设置的方法，只能通过重复设置时抛出的异常判断
+        try {
+            cacheBuilder.ticker(refreshPolicy.getTicker());
+        } catch (IllegalStateException e) {
+            // 已设置时钟
+        }
+        try {
+            cacheBuilder.expireAfterWrite(refreshPolicy.getHardTtl(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+        } catch (IllegalStateException e) {
+            // 已设置写入后过期
+        }
     }
 }
@@ -0,0 +1,246 @@
+package org.code4everything.boot.cache.guava;
+
+import cn.hutool.core.util.ObjectUtil;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheLoader;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.code4everything.boot.cache.RefreshPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 支持提前刷新的谷歌Guava缓存<br>值超过软过期时间后仍直接返回，同时在后台重新加载，避免过期瞬间的请求同步加载；
+ * 只有记录了加载器（通过 {@link #get(Object, Callable)} 加载或访问）的值才能在后台刷新，原生缓存中保存的是包装后的值
+ *
+ * @author pantao
+ * @since 1.1.6
+ */
+public class RefreshAheadGuavaCache extends GuavaCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RefreshAheadGuavaCache.class);
+
+    /**
+     * @since 1.1.6
+     */
+    private final Cache<Object, Object> cache;
+
+    /**
+     * @since 1.1.6
+     */
+    private final RefreshPolicy refreshPolicy;
+
+    /**
+     * 构造函数
+     *
+     * @param name 缓存名
+     * @param cache {@link Cache}
+     * @param refreshPolicy 刷新策略
+     *
+     * @since 1.1.6
+     */
+    public RefreshAheadGuavaCache(String name, Cache<Object, Object> cache, RefreshPolicy refreshPolicy) {
+        super(name, cache);
+        Objects.requireNonNull(refreshPolicy, "refresh policy must not be null");
+        this.cache = cache;
+        this.refreshPolicy = refreshPolicy;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        Entry entry = getEntry(key, null);
+        return Objects.isNull(entry) ? null : wrapValueIfNotNull(entry.value);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        Entry entry = getEntry(key, null);
+        return Objects.isNull(entry) ? null : convert2(entry.value, type);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Entry entry = getEntry(key, valueLoader);
+        if (ObjectUtil.isNotNull(entry)) {
+            return (T) entry.value;
+        }
+        try {
+            entry = (Entry) cache.get(key, () -> {
+                T value = valueLoader.call();
+                // 返回空值时Guava会抛出异常，不缓存空值
+                return Objects.isNull(value) ? null : new Entry(value, refreshPolicy.read(), valueLoader);
+            });
+            return (T) entry.value;
+        } catch (CacheLoader.InvalidCacheLoadException e) {
+            return null;
+        } catch (ExecutionException | UncheckedExecutionException | ExecutionError e) {
+            throw new ValueRetrievalException(key, valueLoader, e.getCause());
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        Entry entry = new Entry(value, refreshPolicy.read(), null);
+        while (true) {
+            Entry exists = (Entry) cache.asMap().putIfAbsent(key, entry);
+            if (Objects.isNull(exists)) {
+                return null;
+            }
+            if (!refreshPolicy.isExpired(exists.writeTime, refreshPolicy.read())) {
+                return wrapValueIfNotNull(exists.value);
+            }
+            // 已过期的值视为不存在
+            cache.asMap().remove(key, exists);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        cache.put(key, new Entry(value, refreshPolicy.read(), null));
+    }
+
+    @Override
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        Map<Object, Object> map = new HashMap<>(keys.size() * 4 / 3 + 1);
+        for (Object key : keys) {
+            Entry entry = getEntry(key, null);
+            if (ObjectUtil.isNotNull(entry) && ObjectUtil.isNotNull(entry.value)) {
+                map.put(key, entry.value);
+            }
+        }
+        return map;
+    }
+
+    @Override
+    public void putAll(Map<?, ?> map) {
+        long now = refreshPolicy.read();
+        Map<Object, Object> entries = new HashMap<>(map.size() * 4 / 3 + 1);
+        map.forEach((key, value) -> entries.put(key, new Entry(value, now, null)));
+        cache.putAll(entries);
+    }
+
+    @Override
+    public void forEachEntry(EntryConsumer consumer) {
+        long now = refreshPolicy.read();
+        long millis = System.currentTimeMillis();
+        long hardTtl = refreshPolicy.getHardTtl(TimeUnit.NANOSECONDS);
+        cache.asMap().forEach((key, value) -> {
+            Entry entry = (Entry) value;
+            long remaining = hardTtl - (now - entry.writeTime);
+            if (remaining > 0 && ObjectUtil.isNotNull(entry.value)) {
+                consumer.accept(key, entry.value, millis + TimeUnit.NANOSECONDS.toMillis(remaining));
+            }
+        });
+    }
+
+    @Override
+    public void restore(Object key, Object value, long expireAt) {
+        if (expireAt <= 0) {
+            put(key, value);
+            return;
+        }
+        long remaining = TimeUnit.MILLISECONDS.toNanos(expireAt - System.currentTimeMillis());
+        if (remaining > 0) {
+            // 还原写入时间，使剩余的硬过期时间保持不变
+            long hardTtl = refreshPolicy.getHardTtl(TimeUnit.NANOSECONDS);
+            long writeTime = refreshPolicy.read() - Math.max(0, hardTtl - remaining);
+            cache.put(key, new Entry(value, writeTime, null));
+        }
+    }
+
+    public RefreshPolicy getRefreshPolicy() {
+        return refreshPolicy;
+    }
+
+    /**
+     * 获取未过期的值，超过软过期时间时提交后台刷新
+     *
+     * @param key 键
+     * @param valueLoader 值没有记录加载器时使用的加载器，可以为空
+     *
+     * @return 值，不存在或已过期时返回NULL
+     *
+     * @since 1.1.6
+     */
+    private Entry getEntry(Object key, Callable<?> valueLoader) {
+        Entry entry = (Entry) cache.getIfPresent(key);
+        if (Objects.isNull(entry)) {
+            return null;
+        }
+        long now = refreshPolicy.read();
+        if (refreshPolicy.isExpired(entry.writeTime, now)) {
+            cache.asMap().remove(key, entry);
+            return null;
+        }
+        if (refreshPolicy.isStale(entry.writeTime, now)) {
+            refresh(key, entry, Objects.isNull(entry.loader) ? valueLoader : entry.loader);
+        }
+        return entry;
+    }
+
+    /**
+     * 在后台刷新值，同一个值只会提交一次刷新任务
+     *
+     * @param key 键
+     * @param entry 旧值
+     * @param loader 加载器
+     *
+     * @since 1.1.6
+     */
+    private void refresh(Object key, Entry entry, Callable<?> loader) {
+        if (Objects.isNull(loader) || !entry.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refreshPolicy.getExecutor().execute(() -> {
+                try {
+                    Object value = loader.call();
+                    if (ObjectUtil.isNotNull(value)) {
+                        // 旧值已被删除或覆盖时放弃刷新的值
+                        cache.asMap().replace(key, entry, new Entry(value, refreshPolicy.read(), loader));
+                    }
+                } catch (Exception e) {
+                    LOGGER.warn("refresh cache '{}' key '{}' failed: {}", getName(), key, e.getMessage());
+                } finally {
+                    entry.refreshing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 刷新线程池已满，继续返回旧值，下次访问时重试
+            entry.refreshing.set(false);
+        }
+    }
+
+    /**
+     * 缓存的值及写入信息
+     *
+     * @since 1.1.6
+     */
+    private static final class Entry {
+
+        private final Object value;
+
+        private final long writeTime;
+
+        private final Callable<?> loader;
+
+        private final AtomicBoolean refreshing = new AtomicBoolean(false);
+
+        private Entry(Object value, long writeTime, Callable<?> loader) {
+            this.value = value;
+            this.writeTime = writeTime;
+            this.loader = loader;
+        }
+    }
+}
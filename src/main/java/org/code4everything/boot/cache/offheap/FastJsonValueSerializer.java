@@ -0,0 +1,52 @@
+package org.code4everything.boot.cache.offheap;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.parser.ParserConfig;
+import com.alibaba.fastjson.serializer.SerializerFeature;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 基于FastJson的值序列化器，序列化时写入类名，反序列化时还原原始类型。
+ * 无参构造函数开启了AutoType，仅适用于字节不离开进程的场景（如堆外缓存），读取外部数据（如文件）时请使用白名单
+ *
+ * @author pantao
+ * @since 1.1.6
+ */
+public class FastJsonValueSerializer implements ValueSerializer {
+
+    private final ParserConfig parserConfig = new ParserConfig();
+
+    /**
+     * 构造函数，开启AutoType，缓存的值由应用自身写入
+     *
+     * @since 1.1.6
+     */
+    public FastJsonValueSerializer() {
+        parserConfig.setAutoTypeSupport(true);
+    }
+
+    /**
+     * 构造函数，关闭AutoType，只允许反序列化FastJson内置的基础类型和指定前缀的类型
+     *
+     * @param acceptPrefixes 允许反序列化的类名前缀，如包名
+     *
+     * @since 1.1.6
+     */
+    public FastJsonValueSerializer(String... acceptPrefixes) {
+        parserConfig.setAutoTypeSupport(false);
+        for (String prefix : acceptPrefixes) {
+            parserConfig.addAccept(prefix);
+        }
+    }
+
+    @Override
+    public byte[] serialize(Object value) {
+        return JSON.toJSONBytes(value, SerializerFeature.WriteClassName);
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) {
+        return JSON.parseObject(new String(bytes, StandardCharsets.UTF_8), Object.class, parserConfig);
+    }
+}
@@ -0,0 +1,144 @@
+package org.code4everything.boot.cache.offheap;
+
+import org.code4everything.boot.cache.AbstractCache;
+import org.code4everything.boot.cache.SnapshotableCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 堆外缓存<br>值序列化后保存在直接内存中，适合大量的大对象（如序列化后的响应），缓存容量增长时不会增加堆内存和GC的压力。
+ * 序列化后超过内存段大小的值不会被缓存，此时记录被拒绝的次数（{@link #getRejectedCount()}），并且每个缓存只打印一次警告
+ *
+ * @author pantao
+ * @since 1.1.6
+ */
+public class OffHeapCache extends AbstractCache implements SnapshotableCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OffHeapCache.class);
+
+    private final OffHeapStore store;
+
+    private final ValueSerializer serializer;
+
+    /**
+     * 因超过内存段大小而未被缓存的值的数量
+     *
+     * @since 1.1.6
+     */
+    private final LongAdder rejectedCount = new LongAdder();
+
+    /**
+     * 是否已经打印过值太大的警告
+     *
+     * @since 1.1.6
+     */
+    private final AtomicBoolean warned = new AtomicBoolean(false);
+
+    /**
+     * 构造函数
+     *
+     * @param name 缓存名
+     * @param store 堆外存储
+     * @param serializer 值序列化器
+     *
+     * @since 1.1.6
+     */
+    public OffHeapCache(String name, OffHeapStore store, ValueSerializer serializer) {
+        super(name, store);
+        Objects.requireNonNull(serializer, "value serializer must not be null");
+        this.store = store;
+        this.serializer = serializer;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return wrapValueIfNotNull(deserialize(store.get(key)));
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return convert2(deserialize(store.get(key)), type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return loadIfAbsent(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (Objects.isNull(value)) {
+            store.remove(key);
+        } else {
+            byte[] bytes = serializer.serialize(value);
+            if (!store.put(key, bytes)) {
+                reject(key, bytes.length);
+            }
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        if (Objects.isNull(value)) {
+            return get(key);
+        }
+        byte[] bytes = serializer.serialize(value);
+        byte[] existing = store.putIfAbsent(key, bytes);
+        if (Objects.isNull(existing) && bytes.length > store.getSegmentSize()) {
+            reject(key, bytes.length);
+        }
+        return wrapValueIfNotNull(deserialize(existing));
+    }
+
+    @Override
+    public void evict(Object key) {
+        store.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        store.clear();
+    }
+
+    @Override
+    public void forEachEntry(EntryConsumer consumer) {
+        store.forEach((key, bytes) -> consumer.accept(key, serializer.deserialize(bytes), 0));
+    }
+
+    /**
+     * 获取因超过内存段大小而未被缓存的值的数量
+     *
+     * @return 数量
+     *
+     * @since 1.1.6
+     */
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    /**
+     * 记录未被缓存的值，第一次时打印警告
+     *
+     * @param key 键
+     * @param length 值序列化后的长度
+     *
+     * @since 1.1.6
+     */
+    private void reject(Object key, int length) {
+        rejectedCount.increment();
+        if (warned.compareAndSet(false, true)) {
+            LOGGER.warn("off-heap cache '{}' rejected key '{}': value of {} bytes exceeds the segment size of {} bytes, "
+                                + "further rejections are only counted", getName(), key, length,
+                        store.getSegmentSize());
+        }
+    }
+
+    private Object deserialize(byte[] bytes) {
+        return Objects.isNull(bytes) ? null : serializer.deserialize(bytes);
+    }
+}
@@ -0,0 +1,74 @@
+package org.code4everything.boot.cache.offheap;
+
+import org.code4everything.boot.cache.CacheCreator;
+
+import java.util.Objects;
+
+/**
+ * 堆外缓存创建者，每个缓存拥有独立的容量<br>单个值序列化后的长度不能超过内存段大小（默认为16MB和容量中的较小值），
+ * 超过时该值不会被缓存（同一个键的旧值也会被删除），之后的读取都会未命中，
+ * 可通过 {@link OffHeapCache#getRejectedCount()} 查看被拒绝的次数。缓存较大的值时请相应地增大内存段
+ *
+ * @author pantao
+ * @since 1.1.6
+ */
+public class OffHeapCacheCreator implements CacheCreator {
+
+    /**
+     * 默认的内存段大小（字节）
+     *
+     * @since 1.1.6
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 16 * 1024 * 1024;
+
+    /**
+     * 每个缓存的容量（字节）
+     *
+     * @since 1.1.6
+     */
+    protected final long capacity;
+
+    /**
+     * 内存段大小（字节）
+     *
+     * @since 1.1.6
+     */
+    protected final int segmentSize;
+
+    /**
+     * @since 1.1.6
+     */
+    protected final ValueSerializer serializer;
+
+    /**
+     * 构造函数，使用FastJson序列化，内存段大小为 {@link #DEFAULT_SEGMENT_SIZE} 和容量中的较小值
+     *
+     * @param capacity 每个缓存的容量（字节）
+     *
+     * @since 1.1.6
+     */
+    public OffHeapCacheCreator(long capacity) {
+        this(capacity, (int) Math.min(capacity, DEFAULT_SEGMENT_SIZE), new FastJsonValueSerializer());
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param capacity 每个缓存的容量（字节）
+     * @param segmentSize 内存段大小（字节），也是单个值序列化后的最大长度，容量至少是它的数倍时淘汰才比较平滑
+     * @param serializer 值序列化器
+     *
+     * @since 1.1.6
+     */
+    public OffHeapCacheCreator(long capacity, int segmentSize, ValueSerializer serializer) {
+        Objects.requireNonNull(serializer, "value serializer must not be null");
+        this.capacity = capacity;
+        this.segmentSize = segmentSize;
+        this.serializer = serializer;
+    }
+
+    @Override
+    public OffHeapCache createCache(String cacheName) {
+        return new OffHeapCache(cacheName, new OffHeapStore(capacity, segmentSize), serializer);
+    }
+}
@@ -0,0 +1,404 @@
+package org.code4everything.boot.cache.offheap;
+
+import cn.hutool.core.util.ObjectUtil;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+
+/**
+ * 堆外存储<br>值按写入顺序追加到由多个直接内存段组成的环形缓冲区中，堆内只保存键和值所在的位置。
+ * 当前段写满时清空下一个段（CLOCK淘汰）：其中最近被访问过的值会被搬到段首并清除访问标记，其余的值被淘汰。
+ * 内存段在首次写入时才分配，总内存不超过设定的容量
+ *
+ * @author pantao
+ * @since 1.1.6
+ */
+@ThreadSafe
+public class OffHeapStore {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 键与值所在位置的映射
+     *
+     * @since 1.1.6
+     */
+    private final Map<Object, Entry> index = new HashMap<>(1024);
+
+    /**
+     * 内存段
+     *
+     * @since 1.1.6
+     */
+    private final ByteBuffer[] segments;
+
+    /**
+     * 每个内存段中写入过的值，可能包含已被删除或覆盖的值
+     *
+     * @since 1.1.6
+     */
+    private final List<List<Entry>> segmentEntries;
+
+    /**
+     * 每个内存段的大小（字节）
+     *
+     * @since 1.1.6
+     */
+    private final int segmentSize;
+
+    /**
+     * 当前写入的内存段
+     *
+     * @since 1.1.6
+     */
+    private int head = 0;
+
+    /**
+     * 当前内存段的写入位置
+     *
+     * @since 1.1.6
+     */
+    private int position = 0;
+
+    /**
+     * 有效值占用的字节数
+     *
+     * @since 1.1.6
+     */
+    private long usedBytes = 0;
+
+    /**
+     * 构造函数
+     *
+     * @param capacity 总容量（字节）
+     * @param segmentSize 每个内存段的大小（字节），也是单个值的最大长度
+     *
+     * @since 1.1.6
+     */
+    public OffHeapStore(long capacity, int segmentSize) {
+        if (segmentSize <= 0 || capacity < segmentSize) {
+            throw new IllegalArgumentException("require 0 < segmentSize <= capacity");
+        }
+        long count = capacity / segmentSize;
+        if (count > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("too many segments, please increase the segment size");
+        }
+        this.segmentSize = segmentSize;
+        this.segments = new ByteBuffer[(int) count];
+        this.segmentEntries = new ArrayList<>((int) count);
+        for (int i = 0; i < count; i++) {
+            segmentEntries.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * 获取值
+     *
+     * @param key 键
+     *
+     * @return 值的字节，不存在时返回NULL
+     *
+     * @since 1.1.6
+     */
+    public byte[] get(Object key) {
+        lock.readLock().lock();
+        try {
+            Entry entry = index.get(key);
+            if (Objects.isNull(entry)) {
+                return null;
+            }
+            entry.referenced = true;
+            return read(entry);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 写入值
+     *
+     * @param key 键
+     * @param value 值的字节
+     *
+     * @return 是否写入成功，值超过内存段大小时不会写入（同时删除旧值）
+     *
+     * @since 1.1.6
+     */
+    public boolean put(Object key, byte[] value) {
+        lock.writeLock().lock();
+        try {
+            removeEntry(index.remove(key));
+            if (value.length > segmentSize) {
+                return false;
+            }
+            append(key, value);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 不存在时写入值
+     *
+     * @param key 键
+     * @param value 值的字节
+     *
+     * @return 已存在的值，不存在时返回NULL
+     *
+     * @since 1.1.6
+     */
+    public byte[] putIfAbsent(Object key, byte[] value) {
+        lock.writeLock().lock();
+        try {
+            Entry entry = index.get(key);
+            if (Objects.isNull(entry)) {
+                if (value.length <= segmentSize) {
+                    append(key, value);
+                }
+                return null;
+            }
+            entry.referenced = true;
+            return read(entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 删除值
+     *
+     * @param key 键
+     *
+     * @since 1.1.6
+     */
+    public void remove(Object key) {
+        lock.writeLock().lock();
+        try {
+            removeEntry(index.remove(key));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 删除所有值，已分配的内存段会被复用
+     *
+     * @since 1.1.6
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            index.clear();
+            segmentEntries.forEach(List::clear);
+            head = 0;
+            position = 0;
+            usedBytes = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 遍历所有值，遍历期间会阻塞写入，不会记录访问
+     *
+     * @param action 操作，参数为键和值的字节
+     *
+     * @since 1.1.6
+     */
+    public void forEach(BiConsumer<Object, byte[]> action) {
+        lock.readLock().lock();
+        try {
+            index.forEach((key, entry) -> action.accept(key, read(entry)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 值的数量
+     *
+     * @return 值的数量
+     *
+     * @since 1.1.6
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 有效值占用的字节数
+     *
+     * @return 字节数
+     *
+     * @since 1.1.6
+     */
+    public long getUsedBytes() {
+        lock.readLock().lock();
+        try {
+            return usedBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 总容量（字节）
+     *
+     * @return 总容量
+     *
+     * @since 1.1.6
+     */
+    public long getCapacity() {
+        return (long) segments.length * segmentSize;
+    }
+
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    /**
+     * 追加值，空间不足时淘汰旧值，调用前需获取写锁
+     *
+     * @param key 键
+     * @param value 值的字节
+     *
+     * @since 1.1.6
+     */
+    private void append(Object key, byte[] value) {
+        while (segmentSize - position < value.length) {
+            advance();
+        }
+        Entry entry = new Entry(key, head, position, value.length);
+        write(entry, value);
+        segmentEntries.get(head).add(entry);
+        index.put(key, entry);
+        usedBytes += value.length;
+    }
+
+    /**
+     * 切换到下一个内存段，并淘汰其中最近未被访问的值，调用前需获取写锁
+     *
+     * @since 1.1.6
+     */
+    private void advance() {
+        head = (head + 1) % segments.length;
+        position = 0;
+        List<Entry> entries = segmentEntries.get(head);
+        if (entries.isEmpty()) {
+            return;
+        }
+        List<Entry> kept = new ArrayList<>();
+        for (Entry entry : entries) {
+            if (index.get(entry.key) != entry) {
+                // 已被删除或覆盖
+                continue;
+            }
+            if (entry.referenced && segments.length > 1) {
+                // 第二次机会：按偏移量从小到大搬到段首，目标位置不会超过原位置
+                entry.referenced = false;
+                byte[] value = read(entry);
+                entry.offset = position;
+                write(entry, value);
+                kept.add(entry);
+            } else {
+                index.remove(entry.key);
+                usedBytes -= entry.length;
+            }
+        }
+        entries.clear();
+        entries.addAll(kept);
+    }
+
+    /**
+     * 写入内存段，调用前需获取写锁
+     *
+     * @param entry 值的位置
+     * @param value 值的字节
+     *
+     * @since 1.1.6
+     */
+    private void write(Entry entry, byte[] value) {
+        ByteBuffer segment = segments[entry.segment];
+        if (Objects.isNull(segment)) {
+            segment = ByteBuffer.allocateDirect(segmentSize);
+            segments[entry.segment] = segment;
+        }
+        ByteBuffer buffer = segment.duplicate();
+        buffer.position(entry.offset);
+        buffer.put(value);
+        position = entry.offset + value.length;
+    }
+
+    /**
+     * 读取值，调用前需获取读锁或写锁
+     *
+     * @param entry 值的位置
+     *
+     * @return 值的字节
+     *
+     * @since 1.1.6
+     */
+    private byte[] read(Entry entry) {
+        byte[] value = new byte[entry.length];
+        ByteBuffer buffer = segments[entry.segment].duplicate();
+        buffer.position(entry.offset);
+        buffer.get(value);
+        return value;
+    }
+
+    /**
+     * 删除值的占用，调用前需获取写锁
+     *
+     * @param entry 值的位置
+     *
+     * @since 1.1.6
+     */
+    private void removeEntry(Entry entry) {
+        if (ObjectUtil.isNotNull(entry)) {
+            usedBytes -= entry.length;
+        }
+    }
+
+    /**
+     * 值的位置
+     *
+     * @since 1.1.6
+     */
+    private static final class Entry {
+
+        private final Object key;
+
+        private final int segment;
+
+        private final int length;
+
+        private int offset;
+
+        /**
+         * 访问标记，读锁下也可修改
+         *
+         * @since 1.1.6
+         */
+        private volatile boolean referenced = false;
+
+        private Entry(Object key, int segment, int offset, int length) {
+            this.key = key;
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
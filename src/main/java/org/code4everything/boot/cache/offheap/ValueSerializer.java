@@ -0,0 +1,32 @@
+package org.code4everything.boot.cache.offheap;
+
+/**
+ * 堆外缓存的值序列化器
+ *
+ * @author pantao
+ * @since 1.1.6
+ */
+public interface ValueSerializer {
+
+    /**
+     * 序列化
+     *
+     * @param value 值
+     *
+     * @return 字节
+     *
+     * @since 1.1.6
+     */
+    byte[] serialize(Object value);
+
+    /**
+     * 反序列化
+     *
+     * @param bytes 字节
+     *
+     * @return 值
+     *
+     * @since 1.1.6
+     */
+    Object deserialize(byte[] bytes);
+}
@@ -0,0 +1,87 @@
+package org.code4everything.boot.cache.tinylfu;
+
+import org.code4everything.boot.cache.AbstractCache;
+import org.code4everything.boot.cache.SnapshotableCache;
+
+import java.util.Objects;
+import java.util.concurrent.Callable;
+
+/**
+ * 基于 W-TinyLFU 淘汰策略的缓存，适合包含批量扫描的访问模式
+ *
+ * @author pantao
+ * @since 1.1.6
+ */
+public class TinyLfuCache extends AbstractCache implements SnapshotableCache {
+
+    private final TinyLfuMap<Object, Object> map;
+
+    /**
+     * 构造函数
+     *
+     * @param name 缓存名
+     * @param map {@link TinyLfuMap}
+     *
+     * @since 1.1.6
+     */
+    public TinyLfuCache(String name, TinyLfuMap<Object, Object> map) {
+        super(name, map);
+        this.map = map;
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param name 缓存名
+     * @param maximumSize 最大键数量
+     *
+     * @since 1.1.6
+     */
+    public TinyLfuCache(String name, int maximumSize) {
+        this(name, new TinyLfuMap<>(maximumSize));
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return wrapValueIfNotNull(map.get(key));
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return convert2(map.get(key), type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return loadIfAbsent(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (Objects.isNull(value)) {
+            map.remove(key);
+        } else {
+            map.put(key, value);
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return Objects.isNull(value) ? get(key) : wrapValueIfNotNull(map.putIfAbsent(key, value));
+    }
+
+    @Override
+    public void evict(Object key) {
+        map.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        map.clear();
+    }
+
+    @Override
+    public void forEachEntry(EntryConsumer consumer) {
+        map.forEach((key, value) -> consumer.accept(key, value, 0));
+    }
+}
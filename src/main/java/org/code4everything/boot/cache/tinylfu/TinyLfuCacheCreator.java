@@ -0,0 +1,38 @@
+package org.code4everything.boot.cache.tinylfu;
+
+import org.code4everything.boot.cache.CacheCreator;
+
+/**
+ * W-TinyLFU 缓存创建者
+ *
+ * @author pantao
+ * @since 1.1.6
+ */
+public class TinyLfuCacheCreator implements CacheCreator {
+
+    /**
+     * 每个缓存的最大键数量
+     *
+     * @since 1.1.6
+     */
+    protected final int maximumSize;
+
+    /**
+     * 构造函数
+     *
+     * @param maximumSize 每个缓存的最大键数量
+     *
+     * @since 1.1.6
+     */
+    public TinyLfuCacheCreator(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximum size must be greater than zero");
+        }
+        this.maximumSize = maximumSize;
+    }
+
+    @Override
+    public TinyLfuCache createCache(String cacheName) {
+        return new TinyLfuCache(cacheName, maximumSize);
+    }
+}
@@ -0,0 +1,524 @@
+package org.code4everything.boot.cache.tinylfu;
+
+import cn.hutool.core.util.ObjectUtil;
+import org.code4everything.boot.base.collection.CountMinSketch;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+/**
+ * 基于 W-TinyLFU 淘汰策略的有界映射<br>新写入的键先进入容量约为1%的窗口LRU，被挤出窗口后进入主区域的试用区，再次被访问后晋升到保护区。
+ * 主区域满时，比较窗口挤出的候选键与试用区最久未访问的键的访问频率（由 {@link CountMinSketch} 估算并定期减半），
+ * 只保留频率更高的键，因此一次性的批量扫描不会冲掉热点数据。
+ * <br>读取无锁：访问记录先写入分段的环形缓冲区（缓冲区满时丢弃），再由获得淘汰锁的线程批量回放
+ *
+ * @param <K> 键类型
+ * @param <V> 值类型
+ *
+ * @author pantao
+ * @since 1.1.6
+ */
+@ThreadSafe
+public class TinyLfuMap<K, V> {
+
+    private static final byte WINDOW = 0;
+
+    private static final byte PROBATION = 1;
+
+    private static final byte PROTECTED = 2;
+
+    private static final byte REMOVED = 3;
+
+    /**
+     * 每个读缓冲区的大小（2的幂）
+     *
+     * @since 1.1.6
+     */
+    private static final int BUFFER_SIZE = 32;
+
+    /**
+     * 读缓冲区中积累的访问记录达到此数量时尝试回放
+     *
+     * @since 1.1.6
+     */
+    private static final int DRAIN_THRESHOLD = BUFFER_SIZE / 2;
+
+    private final ConcurrentHashMap<K, Node<K, V>> data;
+
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    private final CountMinSketch sketch;
+
+    private final ReadBuffer<K, V>[] readBuffers;
+
+    private final AccessOrderDeque<K, V> window = new AccessOrderDeque<>();
+
+    private final AccessOrderDeque<K, V> probation = new AccessOrderDeque<>();
+
+    private final AccessOrderDeque<K, V> protect = new AccessOrderDeque<>();
+
+    private final int maximumSize;
+
+    private final int windowMaximum;
+
+    private final int protectedMaximum;
+
+    /**
+     * 频率减半的周期（累加次数）
+     *
+     * @since 1.1.6
+     */
+    private final int sampleSize;
+
+    /**
+     * 自上次减半以来的累加次数，只在淘汰锁内修改
+     *
+     * @since 1.1.6
+     */
+    private int additions = 0;
+
+    /**
+     * 构造函数
+     *
+     * @param maximumSize 最大键数量
+     *
+     * @since 1.1.6
+     */
+    @SuppressWarnings("unchecked")
+    public TinyLfuMap(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximum size must be greater than zero");
+        }
+        this.maximumSize = maximumSize;
+        this.windowMaximum = Math.max(1, maximumSize / 100);
+        this.protectedMaximum = (int) ((maximumSize - windowMaximum) * 0.8);
+        this.sampleSize = maximumSize >= Integer.MAX_VALUE / 10 ? Integer.MAX_VALUE : maximumSize * 10;
+        this.sketch = new CountMinSketch(Math.max(16, maximumSize), 4);
+        this.data = new ConcurrentHashMap<>(Math.min(maximumSize, 1 << 16));
+        int stripes = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 2 - 1) << 1;
+        this.readBuffers = new ReadBuffer[stripes];
+        for (int i = 0; i < stripes; i++) {
+            readBuffers[i] = new ReadBuffer<>();
+        }
+    }
+
+    /**
+     * 获取值
+     *
+     * @param key 键
+     *
+     * @return 值，不存在时返回NULL
+     *
+     * @since 1.1.6
+     */
+    public V get(Object key) {
+        Node<K, V> node = data.get(key);
+        if (Objects.isNull(node)) {
+            return null;
+        }
+        ReadBuffer<K, V> buffer = readBuffers[(int) Thread.currentThread().getId() & (readBuffers.length - 1)];
+        if (buffer.offer(node) >= DRAIN_THRESHOLD && evictionLock.tryLock()) {
+            try {
+                drainReadBuffers();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+        return node.value;
+    }
+
+    /**
+     * 写入值
+     *
+     * @param key 键
+     * @param value 值
+     *
+     * @return 旧值，不存在时返回NULL
+     *
+     * @since 1.1.6
+     */
+    public V put(K key, V value) {
+        return put(key, value, false);
+    }
+
+    /**
+     * 不存在时写入值
+     *
+     * @param key 键
+     * @param value 值
+     *
+     * @return 已存在的值，不存在时返回NULL
+     *
+     * @since 1.1.6
+     */
+    public V putIfAbsent(K key, V value) {
+        return put(key, value, true);
+    }
+
+    /**
+     * 删除值
+     *
+     * @param key 键
+     *
+     * @return 旧值，不存在时返回NULL
+     *
+     * @since 1.1.6
+     */
+    public V remove(Object key) {
+        evictionLock.lock();
+        try {
+            drainReadBuffers();
+            Node<K, V> node = data.remove(key);
+            if (Objects.isNull(node)) {
+                return null;
+            }
+            unlink(node);
+            return node.value;
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * 删除所有值
+     *
+     * @since 1.1.6
+     */
+    public void clear() {
+        evictionLock.lock();
+        try {
+            drainReadBuffers();
+            data.values().forEach(this::unlink);
+            data.clear();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * 键的数量
+     *
+     * @return 键的数量
+     *
+     * @since 1.1.6
+     */
+    public int size() {
+        return data.size();
+    }
+
+    /**
+     * 遍历所有键值，不会记录访问
+     *
+     * @param action 操作
+     *
+     * @since 1.1.6
+     */
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        data.forEach((key, node) -> action.accept(key, node.value));
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * 写入值
+     *
+     * @param key 键
+     * @param value 值
+     * @param onlyIfAbsent 是否只在不存在时写入
+     *
+     * @return 旧值，不存在时返回NULL
+     *
+     * @since 1.1.6
+     */
+    private V put(K key, V value, boolean onlyIfAbsent) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        evictionLock.lock();
+        try {
+            drainReadBuffers();
+            Node<K, V> node = data.get(key);
+            if (ObjectUtil.isNotNull(node)) {
+                V old = node.value;
+                if (!onlyIfAbsent) {
+                    node.value = value;
+                }
+                onAccess(node);
+                return old;
+            }
+            node = new Node<>(key, value);
+            data.put(key, node);
+            window.addLast(node);
+            increment(key);
+            evict();
+            return null;
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * 回放读缓冲区中的访问记录，调用前需获取淘汰锁
+     *
+     * @since 1.1.6
+     */
+    private void drainReadBuffers() {
+        for (ReadBuffer<K, V> buffer : readBuffers) {
+            buffer.drain(this);
+        }
+    }
+
+    /**
+     * 记录一次访问，调用前需获取淘汰锁
+     *
+     * @param node 节点
+     *
+     * @since 1.1.6
+     */
+    private void onAccess(Node<K, V> node) {
+        switch (node.queue) {
+            case WINDOW:
+                increment(node.key);
+                window.moveToBack(node);
+                break;
+            case PROBATION:
+                increment(node.key);
+                // 试用区的键再次被访问后晋升到保护区
+                probation.remove(node);
+                node.queue = PROTECTED;
+                protect.addLast(node);
+                while (protect.size > protectedMaximum) {
+                    Node<K, V> demoted = protect.pollFirst();
+                    demoted.queue = PROBATION;
+                    probation.addLast(demoted);
+                }
+                break;
+            case PROTECTED:
+                increment(node.key);
+                protect.moveToBack(node);
+                break;
+            default:
+                // 已删除的节点
+                break;
+        }
+    }
+
+    /**
+     * 将超出窗口的键移入试用区，并淘汰超出容量的键，调用前需获取淘汰锁
+     *
+     * @since 1.1.6
+     */
+    private void evict() {
+        Node<K, V> candidate = null;
+        while (window.size > windowMaximum) {
+            candidate = window.pollFirst();
+            candidate.queue = PROBATION;
+            probation.addLast(candidate);
+        }
+        while (data.size() > maximumSize) {
+            Node<K, V> victim = probation.head;
+            Node<K, V> evicted;
+            if (Objects.isNull(victim)) {
+                evicted = Objects.isNull(protect.head) ? window.head : protect.head;
+            } else if (Objects.isNull(candidate) || candidate.queue != PROBATION || candidate == victim) {
+                evicted = victim;
+            } else {
+                // 候选键的频率必须高于试用区最久未访问的键才能留下
+                evicted = frequency(candidate.key) > frequency(victim.key) ? victim : candidate;
+            }
+            data.remove(evicted.key, evicted);
+            unlink(evicted);
+        }
+    }
+
+    /**
+     * 从所在的队列中移除，调用前需获取淘汰锁
+     *
+     * @param node 节点
+     *
+     * @since 1.1.6
+     */
+    private void unlink(Node<K, V> node) {
+        switch (node.queue) {
+            case WINDOW:
+                window.remove(node);
+                break;
+            case PROBATION:
+                probation.remove(node);
+                break;
+            case PROTECTED:
+                protect.remove(node);
+                break;
+            default:
+                break;
+        }
+        node.queue = REMOVED;
+    }
+
+    /**
+     * 累加访问频率，调用前需获取淘汰锁
+     *
+     * @param key 键
+     *
+     * @since 1.1.6
+     */
+    private void increment(K key) {
+        sketch.add(key.hashCode(), 1);
+        if (++additions >= sampleSize) {
+            // 定期减半，让过去的热点逐渐冷却
+            sketch.halve();
+            additions >>>= 1;
+        }
+    }
+
+    private long frequency(K key) {
+        return sketch.estimate(key.hashCode());
+    }
+
+    /**
+     * 节点，队列相关的字段只在淘汰锁内访问
+     *
+     * @since 1.1.6
+     */
+    private static final class Node<K, V> {
+
+        private final K key;
+
+        private volatile V value;
+
+        private byte queue = WINDOW;
+
+        private Node<K, V> prev;
+
+        private Node<K, V> next;
+
+        private Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    /**
+     * 按访问顺序排列的双向链表，头部为最久未访问的节点
+     *
+     * @since 1.1.6
+     */
+    private static final class AccessOrderDeque<K, V> {
+
+        private Node<K, V> head;
+
+        private Node<K, V> tail;
+
+        private int size = 0;
+
+        private void addLast(Node<K, V> node) {
+            node.prev = tail;
+            node.next = null;
+            if (Objects.isNull(tail)) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+            size++;
+        }
+
+        private Node<K, V> pollFirst() {
+            Node<K, V> node = head;
+            if (ObjectUtil.isNotNull(node)) {
+                remove(node);
+            }
+            return node;
+        }
+
+        private void moveToBack(Node<K, V> node) {
+            if (node != tail) {
+                remove(node);
+                addLast(node);
+            }
+        }
+
+        private void remove(Node<K, V> node) {
+            if (Objects.isNull(node.prev)) {
+                head = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (Objects.isNull(node.next)) {
+                tail = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+            size--;
+        }
+    }
+
+    /**
+     * 有损的环形读缓冲区，多个线程无锁写入，获得淘汰锁的线程读取
+     *
+     * @since 1.1.6
+     */
+    private static final class ReadBuffer<K, V> {
+
+        private final AtomicReferenceArray<Node<K, V>> buffer = new AtomicReferenceArray<>(BUFFER_SIZE);
+
+        private final AtomicLong writeCount = new AtomicLong();
+
+        /**
+         * 只在淘汰锁内修改
+         *
+         * @since 1.1.6
+         */
+        private volatile long readCount = 0;
+
+        /**
+         * 记录一次访问，缓冲区已满或发生竞争时丢弃
+         *
+         * @param node 节点
+         *
+         * @return 待回放的记录数
+         *
+         * @since 1.1.6
+         */
+        private long offer(Node<K, V> node) {
+            long write = writeCount.get();
+            long pending = write - readCount;
+            if (pending < BUFFER_SIZE && writeCount.compareAndSet(write, write + 1)) {
+                buffer.lazySet((int) (write & (BUFFER_SIZE - 1)), node);
+                return pending + 1;
+            }
+            return pending;
+        }
+
+        /**
+         * 回放访问记录，调用前需获取淘汰锁
+         *
+         * @param map 映射
+         *
+         * @since 1.1.6
+         */
+        private void drain(TinyLfuMap<K, V> map) {
+            long read = readCount;
+            long write = writeCount.get();
+            for (; read < write; read++) {
+                int index = (int) (read & (BUFFER_SIZE - 1));
+                Node<K, V> node = buffer.get(index);
+                if (Objects.isNull(node)) {
+                    // 写入者尚未发布节点，下次再回放
+                    break;
+                }
+                buffer.lazySet(index, null);
+                map.onAccess(node);
+            }
+            readCount = read;
+        }
+    }
+}
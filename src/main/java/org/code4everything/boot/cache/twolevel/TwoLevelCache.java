@@ -0,0 +1,422 @@
+package org.code4everything.boot.cache.twolevel;
+
+import cn.hutool.core.util.ObjectUtil;
+import com.alibaba.fastjson.JSONObject;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheLoader;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.code4everything.boot.cache.AbstractCache;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 二级缓存<br>一级为本地的Guava缓存，二级为Redis缓存。读取时先读本地缓存，未命中时读Redis并回填本地缓存；
+ * 写入时同时写Redis和本地缓存，并通过Redis发布订阅通知其他节点失效本地缓存
+ *
+ * @author pantao
+ * @since 1.1.6
+ */
+public class TwoLevelCache extends AbstractCache {
+
+    /**
+     * 一次扫描的键数量
+     *
+     * @since 1.1.6
+     */
+    private static final int SCAN_COUNT = 256;
+
+    /**
+     * 一级缓存，键为 {@link #toKey(Object)} 转换后的字符串
+     *
+     * @since 1.1.6
+     */
+    private final Cache<Object, Object> localCache;
+
+    /**
+     * 二级缓存
+     *
+     * @since 1.1.6
+     */
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    /**
+     * Redis中的键前缀
+     *
+     * @since 1.1.6
+     */
+    private final String keyPrefix;
+
+    /**
+     * Redis中的过期时间（毫秒），小于等于0时不过期
+     *
+     * @since 1.1.6
+     */
+    private final long ttl;
+
+    /**
+     * 失效通知的频道
+     *
+     * @since 1.1.6
+     */
+    private final byte[] channel;
+
+    /**
+     * 当前节点编号，用于忽略自己发出的失效通知
+     *
+     * @since 1.1.6
+     */
+    private final String nodeId;
+
+    /**
+     * 构造函数
+     *
+     * @param name 缓存名
+     * @param localCache 一级缓存
+     * @param redisTemplate 二级缓存
+     * @param ttl Redis中的过期时间（毫秒），小于等于0时不过期
+     * @param channel 失效通知的频道
+     * @param nodeId 当前节点编号
+     *
+     * @since 1.1.6
+     */
+    public TwoLevelCache(String name, Cache<Object, Object> localCache, RedisTemplate<String, Object> redisTemplate,
+                         long ttl, String channel, String nodeId) {
+        super(name, localCache);
+        this.localCache = localCache;
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = name + ":";
+        this.ttl = ttl;
+        this.channel = channel.getBytes(StandardCharsets.UTF_8);
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String k = toKey(key);
+        Object value = localCache.getIfPresent(k);
+        if (Objects.isNull(value)) {
+            value = redisTemplate.opsForValue().get(keyPrefix + k);
+            if (ObjectUtil.isNotNull(value)) {
+                localCache.put(k, value);
+            }
+        }
+        return wrapValueIfNotNull(value);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        return Objects.isNull(wrapper) ? null : convert2(wrapper.get(), type);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String k = toKey(key);
+        try {
+            // 本地由Guava保证同一个键只加载一次，多个节点之间以先写入Redis的值为准
+            return (T) localCache.get(k, () -> {
+                Object value = redisTemplate.opsForValue().get(keyPrefix + k);
+                if (ObjectUtil.isNotNull(value)) {
+                    return value;
+                }
+                value = valueLoader.call();
+                if (Objects.isNull(value) || setIfAbsent(keyPrefix + k, value)) {
+                    return value;
+                }
+                Object exists = redisTemplate.opsForValue().get(keyPrefix + k);
+                return Objects.isNull(exists) ? value : exists;
+            });
+        } catch (CacheLoader.InvalidCacheLoadException e) {
+            // 加载器返回了空值
+            return null;
+        } catch (ExecutionException | UncheckedExecutionException | ExecutionError e) {
+            throw new ValueRetrievalException(key, valueLoader, e.getCause());
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (Objects.isNull(value)) {
+            evict(key);
+            return;
+        }
+        String k = toKey(key);
+        if (ttl > 0) {
+            redisTemplate.opsForValue().set(keyPrefix + k, value, ttl, TimeUnit.MILLISECONDS);
+        } else {
+            redisTemplate.opsForValue().set(keyPrefix + k, value);
+        }
+        localCache.put(k, value);
+        publish(Collections.singletonList(k));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        String k = toKey(key);
+        if (setIfAbsent(keyPrefix + k, value)) {
+            localCache.put(k, value);
+            publish(Collections.singletonList(k));
+            return null;
+        }
+        return get(key);
+    }
+
+    @Override
+    public void evict(Object key) {
+        String k = toKey(key);
+        redisTemplate.delete(keyPrefix + k);
+        localCache.invalidate(k);
+        publish(Collections.singletonList(k));
+    }
+
+    @Override
+    public void clear() {
+        List<String> keys = scanKeys();
+        if (!keys.isEmpty()) {
+            redisTemplate.delete(keys);
+        }
+        localCache.invalidateAll();
+        publish(null);
+    }
+
+    /**
+     * 批量获取缓存，本地未命中的键通过一次MGET从Redis获取
+     *
+     * @param keys 键集合
+     *
+     * @return 存在的键与值的映射
+     *
+     * @since 1.1.6
+     */
+    @Override
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        Map<Object, Object> map = new HashMap<>(keys.size() * 4 / 3 + 1);
+        List<Object> missKeys = new ArrayList<>();
+        List<String> redisKeys = new ArrayList<>();
+        for (Object key : keys) {
+            String k = toKey(key);
+            Object value = localCache.getIfPresent(k);
+            if (Objects.isNull(value)) {
+                missKeys.add(key);
+                redisKeys.add(keyPrefix + k);
+            } else {
+                map.put(key, value);
+            }
+        }
+        if (missKeys.isEmpty()) {
+            return map;
+        }
+        List<Object> values = redisTemplate.opsForValue().multiGet(redisKeys);
+        if (Objects.isNull(values)) {
+            return map;
+        }
+        for (int i = 0; i < values.size(); i++) {
+            Object value = values.get(i);
+            if (ObjectUtil.isNotNull(value)) {
+                map.put(missKeys.get(i), value);
+                localCache.put(redisKeys.get(i).substring(keyPrefix.length()), value);
+            }
+        }
+        return map;
+    }
+
+    /**
+     * 批量写入缓存，所有写入和失效通知在一次管道中完成
+     *
+     * @param map 键与值的映射
+     *
+     * @since 1.1.6
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void putAll(Map<?, ?> map) {
+        Map<String, Object> entries = new HashMap<>(map.size() * 4 / 3 + 1);
+        List<Object> nullKeys = new ArrayList<>();
+        map.forEach((key, value) -> {
+            if (Objects.isNull(value)) {
+                nullKeys.add(key);
+            } else {
+                entries.put(toKey(key), value);
+            }
+        });
+        if (!nullKeys.isEmpty()) {
+            evictAll(nullKeys);
+        }
+        if (entries.isEmpty()) {
+            return;
+        }
+        RedisSerializer<String> keySerializer = (RedisSerializer<String>) redisTemplate.getKeySerializer();
+        RedisSerializer<Object> valueSerializer = (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+        byte[] message = buildMessage(entries.keySet());
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            entries.forEach((k, value) -> {
+                byte[] rawKey = keySerializer.serialize(keyPrefix + k);
+                byte[] rawValue = valueSerializer.serialize(value);
+                if (ttl > 0) {
+                    connection.pSetEx(rawKey, ttl, rawValue);
+                } else {
+                    connection.set(rawKey, rawValue);
+                }
+            });
+            connection.publish(channel, message);
+            return null;
+        });
+        localCache.putAll(entries);
+    }
+
+    /**
+     * 批量删除缓存，使用一次DEL命令和一条失效通知
+     *
+     * @param keys 键集合
+     *
+     * @since 1.1.6
+     */
+    @Override
+    public void evictAll(Collection<?> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        List<String> ks = new ArrayList<>(keys.size());
+        List<String> redisKeys = new ArrayList<>(keys.size());
+        for (Object key : keys) {
+            String k = toKey(key);
+            ks.add(k);
+            redisKeys.add(keyPrefix + k);
+        }
+        redisTemplate.delete(redisKeys);
+        localCache.invalidateAll(ks);
+        publish(ks);
+    }
+
+    /**
+     * 只失效本地缓存，收到其他节点的失效通知时调用
+     *
+     * @param keys 键集合，为空时失效所有键
+     *
+     * @since 1.1.6
+     */
+    public void evictLocal(Collection<String> keys) {
+        if (Objects.isNull(keys)) {
+            localCache.invalidateAll();
+        } else {
+            localCache.invalidateAll(keys);
+        }
+    }
+
+    /**
+     * 获取一级缓存
+     *
+     * @return {@link Cache}
+     *
+     * @since 1.1.6
+     */
+    public Cache<Object, Object> getLocalCache() {
+        return localCache;
+    }
+
+    /**
+     * 获取二级缓存
+     *
+     * @return {@link RedisTemplate}
+     *
+     * @since 1.1.6
+     */
+    public RedisTemplate<String, Object> getRedisTemplate() {
+        return redisTemplate;
+    }
+
+    /**
+     * 转换键，本地缓存和Redis统一使用字符串键，保证失效通知能定位到本地缓存中的键
+     *
+     * @param key 键
+     *
+     * @return 字符串键
+     *
+     * @since 1.1.6
+     */
+    protected String toKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    /**
+     * 不存在时写入Redis
+     *
+     * @param redisKey Redis中的键
+     * @param value 值
+     *
+     * @return 是否写入成功
+     *
+     * @since 1.1.6
+     */
+    private boolean setIfAbsent(String redisKey, Object value) {
+        Boolean res;
+        if (ttl > 0) {
+            res = redisTemplate.opsForValue().setIfAbsent(redisKey, value, ttl, TimeUnit.MILLISECONDS);
+        } else {
+            res = redisTemplate.opsForValue().setIfAbsent(redisKey, value);
+        }
+        return Boolean.TRUE.equals(res);
+    }
+
+    /**
+     * 扫描当前缓存在Redis中的所有键，使用SCAN避免阻塞Redis
+     *
+     * @return 键
+     *
+     * @since 1.1.6
+     */
+    private List<String> scanKeys() {
+        ScanOptions options = ScanOptions.scanOptions().match(keyPrefix + "*").count(SCAN_COUNT).build();
+        return redisTemplate.execute((RedisCallback<List<String>>) connection -> {
+            List<String> keys = new ArrayList<>();
+            try (Cursor<byte[]> cursor = connection.scan(options)) {
+                while (cursor.hasNext()) {
+                    keys.add(new String(cursor.next(), StandardCharsets.UTF_8));
+                }
+            } catch (Exception e) {
+                throw new IllegalStateException("scan redis keys failed: " + e.getMessage(), e);
+            }
+            return keys;
+        });
+    }
+
+    /**
+     * 通知其他节点失效本地缓存
+     *
+     * @param keys 键集合，为空时失效所有键
+     *
+     * @since 1.1.6
+     */
+    private void publish(Collection<String> keys) {
+        byte[] body = buildMessage(keys);
+        redisTemplate.execute((RedisCallback<Long>) connection -> connection.publish(channel, body));
+    }
+
+    /**
+     * 生成失效通知
+     *
+     * @param keys 键集合，为空时失效所有键
+     *
+     * @return 消息
+     *
+     * @since 1.1.6
+     */
+    private byte[] buildMessage(Collection<String> keys) {
+        JSONObject message = new JSONObject(4);
+        message.put(TwoLevelCacheManager.NODE, nodeId);
+        message.put(TwoLevelCacheManager.NAME, getName());
+        message.put(TwoLevelCacheManager.KEYS, keys);
+        return message.toJSONString().getBytes(StandardCharsets.UTF_8);
+    }
+}
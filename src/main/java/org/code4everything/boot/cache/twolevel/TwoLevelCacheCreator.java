@@ -0,0 +1,135 @@
+package org.code4everything.boot.cache.twolevel;
+
+import cn.hutool.core.util.IdUtil;
+import com.alibaba.fastjson.support.spring.GenericFastJsonRedisSerializer;
+import com.google.common.cache.CacheBuilder;
+import org.code4everything.boot.cache.CacheCreator;
+import org.code4everything.boot.module.redis.RedisTemplateUtils;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 二级缓存创建者
+ *
+ * @author pantao
+ * @since 1.1.6
+ */
+public class TwoLevelCacheCreator implements CacheCreator {
+
+    /**
+     * 默认的失效通知频道
+     *
+     * @since 1.1.6
+     */
+    public static final String DEFAULT_CHANNEL = "boot:surface:cache:invalidate";
+
+    /**
+     * 一级缓存创建者
+     *
+     * @since 1.1.6
+     */
+    protected final CacheBuilder<Object, Object> cacheBuilder;
+
+    /**
+     * 二级缓存
+     *
+     * @since 1.1.6
+     */
+    protected final RedisTemplate<String, Object> redisTemplate;
+
+    /**
+     * Redis中的过期时间（毫秒）
+     *
+     * @since 1.1.6
+     */
+    protected final long ttl;
+
+    /**
+     * 失效通知的频道
+     *
+     * @since 1.1.6
+     */
+    protected final String channel;
+
+    /**
+     * 当前节点编号
+     *
+     * @since 1.1.6
+     */
+    protected final String nodeId = IdUtil.simpleUUID();
+
+    /**
+     * 构造函数，一级缓存最多1024个键、写入1分钟后过期，Redis中的键不过期
+     *
+     * @since 1.1.6
+     */
+    public TwoLevelCacheCreator() {
+        this(CacheBuilder.newBuilder().maximumSize(1024).expireAfterWrite(1, TimeUnit.MINUTES), 0);
+    }
+
+    /**
+     * 构造函数，使用 {@link RedisTemplateUtils} 中的连接池
+     *
+     * @param cacheBuilder 一级缓存创建者，建议设置最大容量和过期时间，以限制错过失效通知时的不一致时长
+     * @param ttl Redis中的过期时间（毫秒），小于等于0时不过期
+     *
+     * @since 1.1.6
+     */
+    public TwoLevelCacheCreator(CacheBuilder<Object, Object> cacheBuilder, long ttl) {
+        this(cacheBuilder, newRedisTemplate(), ttl, DEFAULT_CHANNEL);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param cacheBuilder 一级缓存创建者，建议设置最大容量和过期时间，以限制错过失效通知时的不一致时长
+     * @param redisTemplate 二级缓存，值的序列化方式需要保留类型信息
+     * @param ttl Redis中的过期时间（毫秒），小于等于0时不过期
+     * @param channel 失效通知的频道
+     *
+     * @since 1.1.6
+     */
+    public TwoLevelCacheCreator(CacheBuilder<Object, Object> cacheBuilder, RedisTemplate<String, Object> redisTemplate,
+                                long ttl, String channel) {
+        Objects.requireNonNull(cacheBuilder, "guava cache builder must not be null");
+        Objects.requireNonNull(redisTemplate, "redis template must not be null");
+        Objects.requireNonNull(channel, "channel must not be null");
+        this.cacheBuilder = cacheBuilder;
+        this.redisTemplate = redisTemplate;
+        this.ttl = ttl;
+        this.channel = channel;
+    }
+
+    /**
+     * 新建二级缓存使用的模板，值使用带类型信息的FastJson序列化，读取时能还原原始类型
+     *
+     * @return {@link RedisTemplate}
+     *
+     * @since 1.1.6
+     */
+    public static RedisTemplate<String, Object> newRedisTemplate() {
+        RedisTemplate<String, Object> redisTemplate = RedisTemplateUtils.newTemplate(String.class, null);
+        redisTemplate.setValueSerializer(new GenericFastJsonRedisSerializer());
+        redisTemplate.afterPropertiesSet();
+        return redisTemplate;
+    }
+
+    @Override
+    public TwoLevelCache createCache(String cacheName) {
+        return new TwoLevelCache(cacheName, cacheBuilder.build(), redisTemplate, ttl, channel, nodeId);
+    }
+
+    public RedisTemplate<String, Object> getRedisTemplate() {
+        return redisTemplate;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+}
@@ -0,0 +1,99 @@
+package org.code4everything.boot.cache.twolevel;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+import org.code4everything.boot.cache.BootCacheManager;
+import org.code4everything.boot.cache.MetricsCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * 二级缓存管理器<br>订阅失效通知频道，收到其他节点的写入或删除通知时失效本地的一级缓存
+ *
+ * @author pantao
+ * @since 1.1.6
+ */
+public class TwoLevelCacheManager extends BootCacheManager implements DisposableBean {
+
+    static final String NODE = "node";
+
+    static final String NAME = "name";
+
+    static final String KEYS = "keys";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TwoLevelCacheManager.class);
+
+    /**
+     * 失效通知的监听容器
+     *
+     * @since 1.1.6
+     */
+    private final RedisMessageListenerContainer listenerContainer;
+
+    /**
+     * 当前节点编号
+     *
+     * @since 1.1.6
+     */
+    private final String nodeId;
+
+    public TwoLevelCacheManager() {
+        this(new TwoLevelCacheCreator());
+    }
+
+    public TwoLevelCacheManager(TwoLevelCacheCreator twoLevelCacheCreator) {
+        this(twoLevelCacheCreator, 16);
+    }
+
+    public TwoLevelCacheManager(TwoLevelCacheCreator twoLevelCacheCreator, int capacity) {
+        super(twoLevelCacheCreator, capacity);
+        this.nodeId = twoLevelCacheCreator.getNodeId();
+        listenerContainer = new RedisMessageListenerContainer();
+        listenerContainer.setConnectionFactory(twoLevelCacheCreator.getRedisTemplate().getRequiredConnectionFactory());
+        listenerContainer.addMessageListener((message, pattern) -> onMessage(message),
+                                             new ChannelTopic(twoLevelCacheCreator.getChannel()));
+        listenerContainer.afterPropertiesSet();
+        listenerContainer.start();
+    }
+
+    /**
+     * 处理失效通知
+     *
+     * @param message 消息
+     *
+     * @since 1.1.6
+     */
+    private void onMessage(Message message) {
+        JSONObject body;
+        try {
+            body = JSON.parseObject(new String(message.getBody(), StandardCharsets.UTF_8));
+        } catch (Exception e) {
+            LOGGER.warn("ignore invalid cache invalidation message: {}", e.getMessage());
+            return;
+        }
+        if (Objects.isNull(body) || Objects.isNull(body.getString(NAME)) || nodeId.equals(body.getString(NODE))) {
+            // 自己发出的通知，本地缓存已是最新
+            return;
+        }
+        // 只失效已创建的缓存，不因通知而创建新的缓存
+        Cache cache = MetricsCache.unwrap(cacheMap.get(body.getString(NAME)));
+        if (cache instanceof TwoLevelCache) {
+            JSONArray keys = body.getJSONArray(KEYS);
+            ((TwoLevelCache) cache).evictLocal(Objects.isNull(keys) ? null : keys.toJavaList(String.class));
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        listenerContainer.destroy();
+    }
+}
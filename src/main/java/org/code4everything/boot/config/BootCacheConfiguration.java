@@ -0,0 +1,90 @@
+package org.code4everything.boot.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.code4everything.boot.cache.BootCacheEvict;
+import org.code4everything.boot.cache.BootCacheManager;
+import org.code4everything.boot.cache.BootCacheable;
+import org.code4everything.boot.cache.CacheKeyExpression;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.context.annotation.Configuration;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 基于 {@link BootCacheable} 和 {@link BootCacheEvict} 注解的方法缓存，键表达式按方法编译一次后复用
+ *
+ * @author pantao
+ * @since 1.1.6
+ */
+@Aspect
+@Configuration
+public class BootCacheConfiguration {
+
+    private final BootCacheManager cacheManager;
+
+    private final Map<Method, CacheKeyExpression> cacheableKeyMap = new ConcurrentHashMap<>(64);
+
+    private final Map<Method, CacheKeyExpression> evictKeyMap = new ConcurrentHashMap<>(64);
+
+    @Autowired
+    public BootCacheConfiguration(BootCacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @Around("@annotation(cacheable)")
+    public Object doCacheable(ProceedingJoinPoint point, BootCacheable cacheable) throws Throwable {
+        Method method = ((MethodSignature) point.getSignature()).getMethod();
+        String key = cacheableKeyMap.computeIfAbsent(method, m -> CacheKeyExpression.compile(m, cacheable.key()))
+                .generate(point.getArgs());
+        Cache cache = cacheManager.requireCache(cacheable.value());
+        try {
+            // 由缓存保证同一个键的并发调用只执行一次方法
+            return cache.get(key, () -> proceed(point));
+        } catch (Cache.ValueRetrievalException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    @Around("@annotation(evict)")
+    public Object doEvict(ProceedingJoinPoint point, BootCacheEvict evict) throws Throwable {
+        if (evict.beforeInvocation()) {
+            evict(point, evict);
+            return point.proceed();
+        }
+        Object result = point.proceed();
+        evict(point, evict);
+        return result;
+    }
+
+    private void evict(ProceedingJoinPoint point, BootCacheEvict evict) {
+        if (evict.allEntries()) {
+            cacheManager.removeAll(evict.value());
+            return;
+        }
+        Method method = ((MethodSignature) point.getSignature()).getMethod();
+        String key = evictKeyMap.computeIfAbsent(method, m -> CacheKeyExpression.compile(m, evict.key()))
+                .generate(point.getArgs());
+        cacheManager.delVal(evict.value(), key);
+    }
+
+    private static Object proceed(ProceedingJoinPoint point) throws Exception {
+        try {
+            return point.proceed();
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new UndeclaredThrowableException(e);
+        }
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof UndeclaredThrowableException ? e.getCause() : e;
+    }
+}
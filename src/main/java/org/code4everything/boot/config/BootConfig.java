@@ -61,6 +61,13 @@ public class BootConfig {
      */
     private static boolean sealed = false;
 
+    /**
+     * 是否在序列化时对字段进行加密
+     *
+     * @since 1.1.6
+     */
+    private static boolean sealOnWrite = false;
+
     /**
      * 字段加密器
      *
@@ -202,9 +209,10 @@ public class BootConfig {
         }
         setFrequency(properties.getFrequency());
         setOkCode(properties.getOkCode());
-        setSealed(properties.getSealed());
+        setSealed(properties.getSealed(), properties.getSealOnWrite());
         setDebug(properties.getDebug());
         setMaxUploadFileSize(properties.getMaxUploadFileSize());
+        setVisitTopK(properties.getVisitTopK());
         setVisitLog(properties.getVisitLog());
         setRestServer(properties.getRestServer());
 
@@ -232,6 +240,17 @@ public class BootConfig {
         DefaultWebInterceptor.setVisitLog(visitLog);
     }
 
+    /**
+     * 设置只统计访问次数最多的用户和URL的数量
+     *
+     * @param visitTopK 数量，小于等于0时精确统计
+     *
+     * @since 1.1.6
+     */
+    public static void setVisitTopK(Integer visitTopK) {
+        DefaultWebInterceptor.setVisitTopK(visitTopK);
+    }
+
     /**
      * 设置指定日志缓存
      *
@@ -362,6 +381,32 @@ public class BootConfig {
         }
     }
 
+    /**
+     * 设置是否对字段进行加密
+     *
+     * @param sealed 是否对字段进行加密
+     * @param onWrite 是否在序列化时加密，开启后 {@link Response} 的数据对象不会被修改，只在FastJson序列化时替换加密字段的值
+     *
+     * @since 1.1.6
+     */
+    public static void setSealed(Boolean sealed, Boolean onWrite) {
+        setSealed(sealed);
+        if (ObjectUtil.isNotNull(onWrite)) {
+            BootConfig.sealOnWrite = onWrite;
+        }
+    }
+
+    /**
+     * 是否在序列化时对字段进行加密
+     *
+     * @return 是否在序列化时对字段进行加密
+     *
+     * @since 1.1.6
+     */
+    public static boolean isSealOnWrite() {
+        return sealOnWrite;
+    }
+
     /**
      * 是否调试
      *
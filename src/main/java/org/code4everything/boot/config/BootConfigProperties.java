@@ -31,6 +31,13 @@ public class BootConfigProperties {
      */
     private Boolean sealed;
 
+    /**
+     * 是否在序列化时给响应字段加密
+     *
+     * @since 1.1.6
+     */
+    private Boolean sealOnWrite;
+
     /**
      * 正确响应码
      *
@@ -52,6 +59,13 @@ public class BootConfigProperties {
      */
     private Boolean visitLog;
 
+    /**
+     * 只统计访问次数最多的用户和URL的数量
+     *
+     * @since 1.1.6
+     */
+    private Integer visitTopK;
+
     /**
      * Rest Template 默认地址
      *
@@ -78,7 +92,7 @@ public class BootConfigProperties {
 
     @Override
     public String toString() {
-        return "BootConfigProperties{" + "maxUploadFileSize=" + maxUploadFileSize + ", debug=" + debug + ", sealed=" + sealed + ", okCode=" + okCode + ", frequency=" + frequency + ", visitLog=" + visitLog + ", restServer='" + restServer + '\'' + ", redis=" + redis + ", mail=" + mail + '}';
+        return "BootConfigProperties{" + "maxUploadFileSize=" + maxUploadFileSize + ", debug=" + debug + ", sealed=" + sealed + ", sealOnWrite=" + sealOnWrite + ", okCode=" + okCode + ", frequency=" + frequency + ", visitLog=" + visitLog + ", visitTopK=" + visitTopK + ", restServer='" + restServer + '\'' + ", redis=" + redis + ", mail=" + mail + '}';
     }
 
     public RedisConfigProperties getRedis() {
@@ -105,6 +119,14 @@ public class BootConfigProperties {
         this.visitLog = visitLog;
     }
 
+    public Integer getVisitTopK() {
+        return visitTopK;
+    }
+
+    public void setVisitTopK(Integer visitTopK) {
+        this.visitTopK = visitTopK;
+    }
+
     public Long getMaxUploadFileSize() {
         return maxUploadFileSize;
     }
@@ -129,6 +151,14 @@ public class BootConfigProperties {
         this.sealed = sealed;
     }
 
+    public Boolean getSealOnWrite() {
+        return sealOnWrite;
+    }
+
+    public void setSealOnWrite(Boolean sealOnWrite) {
+        this.sealOnWrite = sealOnWrite;
+    }
+
     public Integer getOkCode() {
         return okCode;
     }
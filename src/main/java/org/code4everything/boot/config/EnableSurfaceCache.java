@@ -0,0 +1,19 @@
+package org.code4everything.boot.config;
+
+import org.springframework.context.annotation.Import;
+
+import java.lang.annotation.*;
+
+/**
+ * 启用 {@link org.code4everything.boot.cache.BootCacheable} 和 {@link org.code4everything.boot.cache.BootCacheEvict}
+ * 注解，需要容器中存在 {@link org.code4everything.boot.cache.BootCacheManager}
+ *
+ * @author pantao
+ * @since 1.1.6
+ */
+@Target({ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+@Import({BootCacheConfiguration.class})
+public @interface EnableSurfaceCache {}
@@ -9,11 +9,15 @@ import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import javax.annotation.Resource;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import java.util.Collection;
 import java.util.Objects;
+import java.util.function.Supplier;
 
 /**
  * 控制器基类
@@ -272,6 +276,26 @@ public class BaseController {
         return printAndReturn(new Response<>(okMsg, data), sealed);
     }
 
+    /**
+     * 请求成功，返回预先序列化的响应，数据只在版本变化时获取并序列化，之后直接写入输出流
+     *
+     * @param cached {@link CachedResponse}
+     * @param version 数据版本
+     * @param data 数据提供者
+     * @param <T> 数据类
+     *
+     * @return 总是返回NULL，响应已写入输出流
+     *
+     * @since 1.1.6
+     */
+    public <T> Response<T> successResult(CachedResponse cached, Object version, Supplier<T> data) {
+        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
+        HttpServletResponse response = attributes.getResponse();
+        Objects.requireNonNull(response, "http servlet response not found in current request");
+        cached.write(version, () -> successResult(data.get()), request, response);
+        return null;
+    }
+
     /**
      * 请求失败
      *
@@ -0,0 +1,250 @@
+package org.code4everything.boot.web.mvc;
+
+import cn.hutool.core.util.ObjectUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.crypto.digest.DigestUtil;
+
+import javax.annotation.concurrent.ThreadSafe;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 预先序列化的响应，适用于内容很少变化的接口（如：枚举、配置、字典）。响应只在版本变化时序列化一次为UTF-8字节，
+ * 之后直接写入输出流，并支持gzip压缩和ETag协商缓存。注意：响应中的时间戳为序列化时的时间
+ *
+ * @author pantao
+ * @since 1.1.6
+ */
+@ThreadSafe
+public class CachedResponse {
+
+    private static final String CONTENT_TYPE = "application/json;charset=UTF-8";
+
+    private static final String GZIP = "gzip";
+
+    /**
+     * 小于此长度的响应不压缩
+     *
+     * @since 1.1.6
+     */
+    private static final int GZIP_MIN_LENGTH = 256;
+
+    private final boolean gzip;
+
+    private volatile Payload payload = null;
+
+    /**
+     * 构造函数，不压缩
+     *
+     * @since 1.1.6
+     */
+    public CachedResponse() {
+        this(false);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param gzip 是否预先生成gzip压缩的版本
+     *
+     * @since 1.1.6
+     */
+    public CachedResponse(boolean gzip) {
+        this.gzip = gzip;
+    }
+
+    /**
+     * 获取指定版本的响应，版本变化时重新序列化
+     *
+     * @param version 版本，使用 {@link Object#equals(Object)} 比较
+     * @param supplier 响应提供者，只在版本变化时调用
+     *
+     * @return {@link Payload}
+     *
+     * @since 1.1.6
+     */
+    public Payload get(Object version, Supplier<Response<?>> supplier) {
+        Payload current = payload;
+        if (ObjectUtil.isNotNull(current) && Objects.equals(current.version, version)) {
+            return current;
+        }
+        synchronized (this) {
+            current = payload;
+            if (Objects.isNull(current) || !Objects.equals(current.version, version)) {
+                current = new Payload(version, supplier.get().toJsonString().getBytes(StandardCharsets.UTF_8), gzip);
+                payload = current;
+            }
+            return current;
+        }
+    }
+
+    /**
+     * 写入响应，请求的 If-None-Match 与ETag匹配时返回304，请求接受gzip时写入压缩后的内容
+     *
+     * @param version 版本
+     * @param supplier 响应提供者，只在版本变化时调用
+     * @param request {@link HttpServletRequest}
+     * @param response {@link HttpServletResponse}
+     *
+     * @since 1.1.6
+     */
+    public void write(Object version, Supplier<Response<?>> supplier, HttpServletRequest request,
+                      HttpServletResponse response) {
+        Payload current = get(version, supplier);
+        response.setHeader("ETag", current.etag);
+        if (ObjectUtil.isNotNull(current.gzipBody)) {
+            response.setHeader("Vary", "Accept-Encoding");
+        }
+        if (current.matches(request.getHeader("If-None-Match"))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        byte[] body = current.body;
+        if (ObjectUtil.isNotNull(current.gzipBody) && acceptGzip(request.getHeader("Accept-Encoding"))) {
+            response.setHeader("Content-Encoding", GZIP);
+            body = current.gzipBody;
+        }
+        response.setContentType(CONTENT_TYPE);
+        response.setContentLength(body.length);
+        try {
+            response.getOutputStream().write(body);
+            response.flushBuffer();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 清除缓存的响应
+     *
+     * @since 1.1.6
+     */
+    public void invalidate() {
+        payload = null;
+    }
+
+    /**
+     * 请求是否接受gzip，q值按数字解析，q值为0（如：q=0、q=0.0、q=0.000）或无法解析时不接受
+     *
+     * @param acceptEncoding Accept-Encoding 请求头
+     *
+     * @return 是否接受gzip
+     *
+     * @since 1.1.6
+     */
+    static boolean acceptGzip(String acceptEncoding) {
+        if (StrUtil.isEmpty(acceptEncoding)) {
+            return false;
+        }
+        for (String encoding : StrUtil.split(acceptEncoding, ',', true, true)) {
+            List<String> params = StrUtil.split(encoding, ';', true, true);
+            if (params.isEmpty() || !GZIP.equalsIgnoreCase(params.get(0))) {
+                continue;
+            }
+            for (int i = 1; i < params.size(); i++) {
+                String param = params.get(i);
+                int eq = param.indexOf('=');
+                if (eq > 0 && "q".equalsIgnoreCase(param.substring(0, eq).trim())) {
+                    return quality(param.substring(eq + 1).trim()) > 0;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static double quality(String q) {
+        try {
+            double quality = Double.parseDouble(q);
+            return Double.isNaN(quality) ? 0 : quality;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * 序列化后的响应
+     *
+     * @since 1.1.6
+     */
+    public static final class Payload {
+
+        private final Object version;
+
+        private final byte[] body;
+
+        private final byte[] gzipBody;
+
+        private final String etag;
+
+        private Payload(Object version, byte[] body, boolean gzip) {
+            this.version = version;
+            this.body = body;
+            this.gzipBody = gzip && body.length >= GZIP_MIN_LENGTH ? compress(body) : null;
+            this.etag = '"' + DigestUtil.md5Hex(body) + '"';
+        }
+
+        private static byte[] compress(byte[] body) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 32);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                gzip.write(body);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            byte[] compressed = out.toByteArray();
+            return compressed.length < body.length ? compressed : null;
+        }
+
+        /**
+         * 请求的 If-None-Match 是否与ETag匹配
+         *
+         * @param ifNoneMatch If-None-Match 请求头
+         *
+         * @return 是否匹配
+         *
+         * @since 1.1.6
+         */
+        public boolean matches(String ifNoneMatch) {
+            if (StrUtil.isEmpty(ifNoneMatch)) {
+                return false;
+            }
+            for (String tag : StrUtil.split(ifNoneMatch, ',', true, true)) {
+                if ("*".equals(tag) || etag.equals(tag) || etag.equals(StrUtil.removePrefix(tag, "W/"))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        public Object getVersion() {
+            return version;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        /**
+         * 获取压缩后的内容
+         *
+         * @return 压缩后的内容，未开启压缩或压缩无收益时返回NULL
+         *
+         * @since 1.1.6
+         */
+        public byte[] getGzipBody() {
+            return gzipBody;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package org.code4everything.boot.web.mvc;
+
+import cn.hutool.core.util.ArrayUtil;
+
+import javax.annotation.concurrent.Immutable;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * 编译后的访问过滤配置<br>将黑名单、白名单、拦截名单和忽略统计名单合并成一棵不可变的字典树，
+ * 只需遍历一次URI即可得到所有匹配的名单，匹配耗时与名单大小无关
+ *
+ * @author pantao
+ * @since 1.1.6
+ */
+@Immutable
+public final class CompiledFilterPath {
+
+    /**
+     * 黑名单
+     *
+     * @since 1.1.6
+     */
+    public static final int BLACK = 1;
+
+    /**
+     * 白名单
+     *
+     * @since 1.1.6
+     */
+    public static final int WHITE = 1 << 1;
+
+    /**
+     * 拦截名单
+     *
+     * @since 1.1.6
+     */
+    public static final int INTERCEPT = 1 << 2;
+
+    /**
+     * 忽略统计访问的名单
+     *
+     * @since 1.1.6
+     */
+    public static final int VISIT_IGNORE = 1 << 3;
+
+    /**
+     * 空配置
+     *
+     * @since 1.1.6
+     */
+    private static final CompiledFilterPath EMPTY = new CompiledFilterPath(new Node(0, new char[0], new Node[0]));
+
+    /**
+     * 根节点
+     *
+     * @since 1.1.6
+     */
+    private final Node root;
+
+    private CompiledFilterPath(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * 编译访问过滤配置
+     *
+     * @param filterPath {@link FilterPath}
+     *
+     * @return {@link CompiledFilterPath}
+     *
+     * @since 1.1.6
+     */
+    public static CompiledFilterPath compile(FilterPath filterPath) {
+        if (Objects.isNull(filterPath)) {
+            return EMPTY;
+        }
+        Builder builder = new Builder();
+        builder.addAll(filterPath.getBlackPrefixes(), BLACK);
+        builder.addAll(filterPath.getWhitePrefixes(), WHITE);
+        builder.addAll(filterPath.getInterceptPrefixes(), INTERCEPT);
+        builder.addAll(filterPath.getVisitIgnorePrefixes(), VISIT_IGNORE);
+        return new CompiledFilterPath(builder.build());
+    }
+
+    /**
+     * 判断匹配结果是否包含指定的名单
+     *
+     * @param mask 匹配结果
+     * @param category 名单
+     *
+     * @return 是否包含
+     *
+     * @since 1.1.6
+     */
+    public static boolean matches(int mask, int category) {
+        return (mask & category) != 0;
+    }
+
+    /**
+     * 匹配URI，返回所有以其前缀匹配的名单
+     *
+     * @param url URI
+     *
+     * @return 匹配结果，见 {@link #BLACK}，{@link #WHITE}，{@link #INTERCEPT}，{@link #VISIT_IGNORE}
+     *
+     * @since 1.1.6
+     */
+    public int match(String url) {
+        Node node = root;
+        int mask = node.mask;
+        if (Objects.isNull(url)) {
+            return mask;
+        }
+        int len = url.length();
+        for (int i = 0; i < len; i++) {
+            node = node.child(url.charAt(i));
+            if (Objects.isNull(node)) {
+                break;
+            }
+            mask |= node.mask;
+        }
+        return mask;
+    }
+
+    /**
+     * 字典树节点
+     *
+     * @since 1.1.6
+     */
+    private static final class Node {
+
+        /**
+         * 以当前节点结尾的名单
+         */
+        private final int mask;
+
+        /**
+         * 子节点的字符，升序排列
+         */
+        private final char[] keys;
+
+        /**
+         * 子节点
+         */
+        private final Node[] children;
+
+        private Node(int mask, char[] keys, Node[] children) {
+            this.mask = mask;
+            this.keys = keys;
+            this.children = children;
+        }
+
+        private Node child(char c) {
+            int idx = Arrays.binarySearch(keys, c);
+            return idx < 0 ? null : children[idx];
+        }
+    }
+
+    /**
+     * 构建字典树
+     *
+     * @since 1.1.6
+     */
+    private static final class Builder {
+
+        private final TreeMap<Character, Builder> children = new TreeMap<>();
+
+        private int mask = 0;
+
+        private void addAll(String[] prefixes, int category) {
+            if (ArrayUtil.isEmpty(prefixes)) {
+                return;
+            }
+            for (String prefix : prefixes) {
+                if (Objects.isNull(prefix)) {
+                    continue;
+                }
+                Builder builder = this;
+                for (int i = 0; i < prefix.length(); i++) {
+                    builder = builder.children.computeIfAbsent(prefix.charAt(i), c -> new Builder());
+                }
+                builder.mask |= category;
+            }
+        }
+
+        private Node build() {
+            char[] keys = new char[children.size()];
+            Node[] nodes = new Node[children.size()];
+            int i = 0;
+            for (Map.Entry<Character, Builder> entry : children.entrySet()) {
+                keys[i] = entry.getKey();
+                nodes[i++] = entry.getValue().build();
+            }
+            return new Node(mask, keys, nodes);
+        }
+    }
+}
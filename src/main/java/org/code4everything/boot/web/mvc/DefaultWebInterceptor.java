@@ -3,11 +3,7 @@ package org.code4everything.boot.web.mvc;
 import cn.hutool.core.thread.ThreadFactoryBuilder;
 import cn.hutool.core.util.ObjectUtil;
 import cn.hutool.core.util.StrUtil;
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import org.code4everything.boot.base.DateUtils;
-import org.code4everything.boot.base.MapUtils;
-import org.code4everything.boot.base.ObjectUtils;
 import org.code4everything.boot.base.constant.IntegerConsts;
 import org.code4everything.boot.config.BootConfig;
 import org.code4everything.boot.web.mvc.exception.ExceptionFactory;
@@ -19,11 +15,12 @@ import org.springframework.web.servlet.ModelAndView;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.sql.Date;
-import java.util.Comparator;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.*;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * 默认拦截器<br>拦截顺序依次为：黑名单 - 白名单 - 拦截名单
@@ -42,20 +39,35 @@ public final class DefaultWebInterceptor implements HandlerInterceptor {
      */
     private static int frequency = 1000;
 
+    /**
+     * 请求频率限制器
+     *
+     * @since 1.1.6
+     */
+    private static volatile FrequencyLimiter limiter = null;
+
     private static boolean visitLog = false;
 
     /**
-     * 配置信息
+     * 只统计访问次数最多的用户和URL的数量，小于等于0时精确统计
      *
-     * @since 1.0.0
+     * @since 1.1.6
      */
-    private static FilterPath filterPath = null;
+    private static int visitTopK = 0;
 
-    private static Map<String, Long> userVisitMap = null;
-
-    private static Map<String, Long> urlVisitMap = null;
+    /**
+     * 编译后的配置信息
+     *
+     * @since 1.1.6
+     */
+    private static volatile CompiledFilterPath filterPath = CompiledFilterPath.compile(null);
 
-    private static long totalVisit = 0;
+    /**
+     * 访问统计计数器，未开启访问统计时为空
+     *
+     * @since 1.1.6
+     */
+    private static final AtomicReference<VisitCounter> VISIT_COUNTER = new AtomicReference<>();
 
     /**
      * 拦截处理器
@@ -66,10 +78,6 @@ public final class DefaultWebInterceptor implements HandlerInterceptor {
 
     private final ThreadFactory factory = ThreadFactoryBuilder.create().setDaemon(true).build();
 
-    private ThreadPoolExecutor executor = null;
-
-    private Cache<String, Byte> cache = null;
-
     private ScheduledThreadPoolExecutor scheduledExecutor = null;
 
     /**
@@ -100,8 +108,10 @@ public final class DefaultWebInterceptor implements HandlerInterceptor {
      * @since 1.1.0
      */
     public static void setFrequency(Integer frequency) {
-        if (ObjectUtil.isNotNull(frequency)) {
+        if (ObjectUtil.isNotNull(frequency) && frequency != DefaultWebInterceptor.frequency) {
             DefaultWebInterceptor.frequency = frequency;
+            // 频率变更后重新创建限制器
+            limiter = null;
         }
     }
 
@@ -115,7 +125,8 @@ public final class DefaultWebInterceptor implements HandlerInterceptor {
      * @since 1.1.0
      */
     public static Map<String, Long> getUserVisitMap(boolean clear) {
-        return visitMapHelper(userVisitMap, clear);
+        VisitCounter counter = VISIT_COUNTER.get();
+        return Objects.isNull(counter) ? null : counter.getUserVisitMap(clear);
     }
 
     /**
@@ -128,45 +139,51 @@ public final class DefaultWebInterceptor implements HandlerInterceptor {
      * @since 1.1.0
      */
     public static Map<String, Long> getUrlVisitMap(boolean clear) {
-        return visitMapHelper(urlVisitMap, clear);
+        VisitCounter counter = VISIT_COUNTER.get();
+        return Objects.isNull(counter) ? null : counter.getUrlVisitMap(clear);
     }
 
     /**
-     * 操作访问日志
+     * 获取总访问次数
      *
-     * @param map 集合
-     * @param clear 是否清除
+     * @param clear 是否清除已有访问日志
      *
-     * @return 访问日志
+     * @return 总访问次数
      *
-     * @since 1.1.2
+     * @since 1.1.0
      */
-    private static Map<String, Long> visitMapHelper(Map<String, Long> map, boolean clear) {
-        if (Objects.isNull(map)) {
-            return null;
-        }
-        Map<String, Long> tmp = MapUtils.sortByValue(map, Comparator.reverseOrder());
-        if (clear) {
-            map.clear();
-        }
-        return tmp;
+    public static long getTotalVisit(boolean clear) {
+        VisitCounter counter = VISIT_COUNTER.get();
+        return Objects.isNull(counter) ? 0 : counter.getTotalVisit(clear);
     }
 
     /**
-     * 获取总访问次数
+     * 获取当前的访问统计计数器
      *
-     * @param clear 是否清除已有访问日志
+     * @return 计数器，未开启访问统计时返回NULL
      *
-     * @return 总访问次数
+     * @since 1.1.6
+     */
+    static VisitCounter getVisitCounter() {
+        return VISIT_COUNTER.get();
+    }
+
+    /**
+     * 取出当前的访问统计并重置，之后的访问将计入新的计数器
      *
-     * @since 1.1.0
+     * @return 当前的访问统计，未开启访问统计时返回NULL
+     *
+     * @since 1.1.6
      */
-    public static long getTotalVisit(boolean clear) {
-        long tmp = totalVisit;
-        if (clear) {
-            totalVisit = 0;
-        }
-        return tmp;
+    public static VisitCounter snapshotAndReset() {
+        VisitCounter counter;
+        do {
+            counter = VISIT_COUNTER.get();
+            if (Objects.isNull(counter)) {
+                return null;
+            }
+        } while (!VISIT_COUNTER.compareAndSet(counter, counter.newEmpty()));
+        return counter;
     }
 
     /**
@@ -181,18 +198,32 @@ public final class DefaultWebInterceptor implements HandlerInterceptor {
             return;
         }
         if (visitLog) {
-            // 第一次初始化
-            userVisitMap = new HashMap<>(1024);
-            urlVisitMap = new HashMap<>(128);
-            totalVisit = 0;
+            // 第一次初始化，重复开启时保留已有的统计
+            VISIT_COUNTER.compareAndSet(null, new VisitCounter(visitTopK));
         } else {
-            userVisitMap = null;
-            urlVisitMap = null;
-            totalVisit = 0;
+            VISIT_COUNTER.set(null);
         }
         DefaultWebInterceptor.visitLog = visitLog;
     }
 
+    /**
+     * 设置只统计访问次数最多的用户和URL的数量，用于限制访问统计的内存占用，模式变化时已有的统计将被清空
+     *
+     * @param visitTopK 数量，小于等于0时精确统计
+     *
+     * @since 1.1.6
+     */
+    public static void setVisitTopK(Integer visitTopK) {
+        if (Objects.isNull(visitTopK) || visitTopK == DefaultWebInterceptor.visitTopK) {
+            return;
+        }
+        DefaultWebInterceptor.visitTopK = visitTopK;
+        VisitCounter counter = VISIT_COUNTER.get();
+        if (ObjectUtil.isNotNull(counter)) {
+            VISIT_COUNTER.compareAndSet(counter, new VisitCounter(visitTopK));
+        }
+    }
+
     /**
      * 设置配置类
      *
@@ -201,11 +232,8 @@ public final class DefaultWebInterceptor implements HandlerInterceptor {
      * @since 1.0.0
      */
     public static void setFilterPath(FilterPath filterPath) {
-        DefaultWebInterceptor.filterPath = filterPath;
-    }
-
-    private static void incrementVisit() {
-        DefaultWebInterceptor.totalVisit++;
+        // 重新编译后整体替换，正在处理的请求仍使用旧的配置
+        DefaultWebInterceptor.filterPath = CompiledFilterPath.compile(filterPath);
     }
 
     /**
@@ -222,9 +250,12 @@ public final class DefaultWebInterceptor implements HandlerInterceptor {
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
         checkFrequency(request);
+        String url = request.getRequestURI();
+        // 一次匹配所有名单
+        int mask = filterPath.match(url);
         // 统计请求数据
-        if (visitLog && ObjectUtils.isNotNull(userVisitMap, urlVisitMap)) {
-            countVisit(filterHandler.buildUserKey(request), request.getRequestURI());
+        if (visitLog && !CompiledFilterPath.matches(mask, CompiledFilterPath.VISIT_IGNORE)) {
+            countVisit(request, url);
         }
 
         if (BootConfig.isDebug()) {
@@ -233,20 +264,18 @@ public final class DefaultWebInterceptor implements HandlerInterceptor {
             LOGGER.info(logStr);
         }
 
-        String url = request.getRequestURI();
-
         // 黑名单
-        if (StrUtil.startWithAny(url, getBlackList())) {
+        if (CompiledFilterPath.matches(mask, CompiledFilterPath.BLACK)) {
             filterHandler.handleBlackList(request, response, handler);
             return false;
         }
         // 白名单
-        if (StrUtil.startWithAny(url, getWhiteList())) {
+        if (CompiledFilterPath.matches(mask, CompiledFilterPath.WHITE)) {
             filterHandler.handleWhiteList(request, response, handler);
             return true;
         }
         // 拦截名单
-        if (StrUtil.startWithAny(url, getInterceptList())) {
+        if (CompiledFilterPath.matches(mask, CompiledFilterPath.INTERCEPT)) {
             return filterHandler.handleInterceptList(request, response, handler);
         }
         return true;
@@ -260,22 +289,26 @@ public final class DefaultWebInterceptor implements HandlerInterceptor {
      * @since 1.1.0
      */
     private void checkFrequency(HttpServletRequest request) {
+        if (frequency <= 0) {
+            return;
+        }
         String key = filterHandler.buildCacheKey(request);
-        if (StrUtil.isNotEmpty(key) && Objects.isNull(cache)) {
-            // 创建频率检测缓存
-            synchronized (DefaultExceptionHandler.class) {
-                if (Objects.isNull(cache)) {
-                    cache = CacheBuilder.newBuilder().expireAfterWrite(frequency, TimeUnit.MILLISECONDS).build();
+        if (StrUtil.isEmpty(key)) {
+            return;
+        }
+        FrequencyLimiter frequencyLimiter = limiter;
+        if (Objects.isNull(frequencyLimiter)) {
+            // 创建频率限制器
+            synchronized (DefaultWebInterceptor.class) {
+                if (Objects.isNull(limiter)) {
+                    limiter = new FrequencyLimiter(frequency);
                 }
+                frequencyLimiter = limiter;
             }
         }
-        if (StrUtil.isNotEmpty(key) && ObjectUtil.isNotNull(cache) && frequency > 0) {
-            // 频率检测
-            if (cache.asMap().containsKey(key)) {
-                throw ExceptionFactory.requestFrequently();
-            } else {
-                cache.put(key, Byte.MAX_VALUE);
-            }
+        // 频率检测
+        if (!frequencyLimiter.tryAcquire(key)) {
+            throw ExceptionFactory.requestFrequently();
         }
     }
 
@@ -313,69 +346,49 @@ public final class DefaultWebInterceptor implements HandlerInterceptor {
         filterHandler.afterCompletion(request, response, handler, ex);
     }
 
-    private void countVisit(final String userKey, final String urlKey) {
-        if (Objects.isNull(executor) || Objects.isNull(scheduledExecutor)) {
-            // 初始化线程池
+    private void countVisit(HttpServletRequest request, String url) {
+        VisitCounter counter = VISIT_COUNTER.get();
+        if (Objects.isNull(counter)) {
+            return;
+        }
+        if (Objects.isNull(scheduledExecutor)) {
+            // 初始化回调线程
             synchronized (DefaultWebInterceptor.class) {
-                if (Objects.isNull(executor)) {
-                    // 初始化统计线程
-                    BlockingQueue<Runnable> queue = filterHandler.createWorkQueue();
-                    executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, queue, factory);
-                }
                 if (Objects.isNull(scheduledExecutor)) {
-                    // 初始化回调线程
                     scheduledExecutor = new ScheduledThreadPoolExecutor(1, factory);
                     long initialDelay = DateUtils.getEndOfToday().getTime() - System.currentTimeMillis() - 999;
-                    scheduledExecutor.scheduleAtFixedRate(() -> {
-                        // 回调处理每日的访问统计
-                        Date date = new Date(System.currentTimeMillis());
-                        if (BootConfig.isDebug()) {
-                            LOGGER.info("call method 'handleVisitLog' to save and reset today's http request data");
-                        }
-                        Map<String, Long> userMap = getUserVisitMap(false);
-                        Map<String, Long> urlMap = getUrlVisitMap(false);
-                        boolean saved = filterHandler.handleVisitLog(date, userMap, urlMap, totalVisit);
-                        if (saved) {
-                            userVisitMap.clear();
-                            urlVisitMap.clear();
-                        }
-                    }, initialDelay, IntegerConsts.ONE_DAY_MILLIS, TimeUnit.MILLISECONDS);
+                    scheduledExecutor.scheduleAtFixedRate(this::handleVisitLog, initialDelay,
+                                                          IntegerConsts.ONE_DAY_MILLIS, TimeUnit.MILLISECONDS);
                 }
             }
         }
-        // 使用单独一个线程来进行统计
-        executor.execute(() -> {
-            if (StrUtil.startWithAny(urlKey, getVisitIgnorePrefixes())) {
-                return;
-            }
-            // 统计用户访问次数
-            if (StrUtil.isNotEmpty(userKey)) {
-                userVisitMap.put(userKey, userVisitMap.getOrDefault(userKey, 0L) + 1);
-            }
-            // 统计URL访问次数
-            urlVisitMap.put(urlKey, urlVisitMap.getOrDefault(urlKey, 0L) + 1);
-            // 统计总访问次数
-            incrementVisit();
-        });
-    }
-
-    private String[] getVisitIgnorePrefixes() {
-        return isNull() ? null : DefaultWebInterceptor.filterPath.getVisitIgnorePrefixes();
-    }
-
-    private String[] getBlackList() {
-        return isNull() ? null : DefaultWebInterceptor.filterPath.getBlackPrefixes();
-    }
-
-    private String[] getWhiteList() {
-        return isNull() ? null : DefaultWebInterceptor.filterPath.getWhitePrefixes();
-    }
-
-    private String[] getInterceptList() {
-        return isNull() ? null : DefaultWebInterceptor.filterPath.getInterceptPrefixes();
+        // 请求线程直接累加计数
+        counter.count(filterHandler.buildUserKey(request), url);
     }
 
-    private boolean isNull() {
-        return Objects.isNull(DefaultWebInterceptor.filterPath);
+    /**
+     * 回调处理每日的访问统计，取出当前的统计交给 {@link PathFilterHandler} 保存，未保存时合并回当前计数器
+     *
+     * @since 1.1.6
+     */
+    void handleVisitLog() {
+        Date date = new Date(System.currentTimeMillis());
+        if (BootConfig.isDebug()) {
+            LOGGER.info("call method 'handleVisitLog' to save and reset today's http request data");
+        }
+        VisitCounter counter = snapshotAndReset();
+        if (Objects.isNull(counter)) {
+            return;
+        }
+        Map<String, Long> userMap = counter.getUserVisitMap(false);
+        Map<String, Long> urlMap = counter.getUrlVisitMap(false);
+        boolean saved = filterHandler.handleVisitLog(date, userMap, urlMap, counter.getTotalVisit(false));
+        if (!saved) {
+            // 未保存时将统计数据合并回当前计数器
+            VisitCounter current = VISIT_COUNTER.get();
+            if (ObjectUtil.isNotNull(current)) {
+                current.merge(counter);
+            }
+        }
     }
 }
@@ -0,0 +1,165 @@
+package org.code4everything.boot.web.mvc;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 请求频率限制器<br>基于令牌桶的GCRA算法实现（等价于滑动窗口），每个键只保存一个理论到达时间，通过CAS无锁更新，
+ * 同一个键的并发请求不会同时通过检测；已过期的键会在检测时由某一个线程顺带清理
+ *
+ * @author pantao
+ * @since 1.1.6
+ */
+@ThreadSafe
+public final class FrequencyLimiter {
+
+    /**
+     * 已被清理的标记
+     *
+     * @since 1.1.6
+     */
+    private static final long REMOVED = Long.MIN_VALUE;
+
+    /**
+     * 每个键的理论到达时间，单位：纳秒
+     *
+     * @since 1.1.6
+     */
+    private final Map<String, AtomicLong> stateMap = new ConcurrentHashMap<>(1024);
+
+    /**
+     * 下一次清理的时间，单位：纳秒
+     *
+     * @since 1.1.6
+     */
+    private final AtomicLong nextSweep;
+
+    /**
+     * 产生一个令牌的间隔，单位：纳秒
+     *
+     * @since 1.1.6
+     */
+    private final long interval;
+
+    /**
+     * 允许的突发容量，单位：纳秒
+     *
+     * @since 1.1.6
+     */
+    private final long tolerance;
+
+    /**
+     * 清理间隔，单位：纳秒
+     *
+     * @since 1.1.6
+     */
+    private final long sweepInterval;
+
+    /**
+     * 构造函数，每个周期内只允许通过一次请求
+     *
+     * @param period 周期，单位：毫秒
+     *
+     * @since 1.1.6
+     */
+    public FrequencyLimiter(long period) {
+        this(period, 1);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param period 周期，单位：毫秒
+     * @param permits 每个周期内允许通过的请求数
+     *
+     * @since 1.1.6
+     */
+    public FrequencyLimiter(long period, int permits) {
+        if (period <= 0 || permits <= 0) {
+            throw new IllegalArgumentException("period and permits must be greater than zero");
+        }
+        long periodNanos = TimeUnit.MILLISECONDS.toNanos(period);
+        this.interval = Math.max(1, periodNanos / permits);
+        this.tolerance = periodNanos - interval;
+        // 至少间隔一秒清理一次，避免频繁遍历
+        this.sweepInterval = Math.max(periodNanos, TimeUnit.SECONDS.toNanos(1));
+        this.nextSweep = new AtomicLong(System.nanoTime() + sweepInterval);
+    }
+
+    /**
+     * 尝试通过频率检测
+     *
+     * @param key 键
+     *
+     * @return 是否通过
+     *
+     * @since 1.1.6
+     */
+    public boolean tryAcquire(String key) {
+        long now = System.nanoTime();
+        sweepIfNecessary(now);
+        while (true) {
+            AtomicLong state = stateMap.get(key);
+            if (state == null) {
+                state = stateMap.computeIfAbsent(key, k -> new AtomicLong(now - interval));
+            }
+            long tat = state.get();
+            if (tat == REMOVED) {
+                // 已被清理线程移除，重新获取
+                stateMap.remove(key, state);
+                continue;
+            }
+            long start = tat - now < 0 ? now : tat;
+            if (start - now > tolerance) {
+                return false;
+            }
+            if (state.compareAndSet(tat, start + interval)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 当前记录的键数量
+     *
+     * @return 键数量
+     *
+     * @since 1.1.6
+     */
+    public int size() {
+        return stateMap.size();
+    }
+
+    /**
+     * 清空所有记录
+     *
+     * @since 1.1.6
+     */
+    public void clear() {
+        stateMap.clear();
+    }
+
+    /**
+     * 清理已过期的键，同一时刻只有一个线程执行
+     *
+     * @param now 当前时间
+     *
+     * @since 1.1.6
+     */
+    private void sweepIfNecessary(long now) {
+        long next = nextSweep.get();
+        if (now - next < 0 || !nextSweep.compareAndSet(next, now + sweepInterval)) {
+            return;
+        }
+        stateMap.forEach((key, state) -> {
+            long tat = state.get();
+            // 先标记再移除，保证正在检测的线程不会基于已移除的状态放行
+            if (tat != REMOVED && tat - now <= 0 && state.compareAndSet(tat, REMOVED)) {
+                stateMap.remove(key, state);
+            }
+        });
+    }
+}
@@ -30,7 +30,9 @@ public interface PathFilterHandler {
      * @return {@link BlockingQueue}
      *
      * @since 1.1.0
+     * @deprecated 访问统计已由请求线程直接累加 {@link VisitCounter}，不再使用统计队列
      */
+    @Deprecated
     default BlockingQueue<Runnable> createWorkQueue() {
         return new ArrayBlockingQueue<>(IntegerConsts.ONE_THOUSAND_AND_TWENTY_FOUR);
     }
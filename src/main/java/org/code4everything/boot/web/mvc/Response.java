@@ -5,6 +5,8 @@ import cn.hutool.core.lang.Console;
 import cn.hutool.core.util.ObjectUtil;
 import cn.hutool.core.util.StrUtil;
 import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.annotation.JSONField;
+import com.alibaba.fastjson.annotation.JSONType;
 import org.code4everything.boot.base.constant.IntegerConsts;
 import org.code4everything.boot.base.constant.MessageConsts;
 import org.code4everything.boot.base.constant.StringConsts;
@@ -25,6 +27,7 @@ import java.util.Objects;
  * @author pantao
  * @since 2018/10/30
  */
+@JSONType(serializer = ResponseSerializer.class)
 public class Response<T> implements Serializable {
 
     private static final long serialVersionUID = -5763007029340547926L;
@@ -38,6 +41,13 @@ public class Response<T> implements Serializable {
      */
     private boolean sealed = false;
 
+    /**
+     * 是否在序列化时对数据进行加密，此时不会修改数据对象
+     *
+     * @since 1.1.6
+     */
+    private boolean sealOnWrite = false;
+
     /**
      * 错误码
      *
@@ -443,18 +453,35 @@ public class Response<T> implements Serializable {
     }
 
     /**
-     * 对字段进行加密
+     * 对字段进行加密，开启 {@link BootConfig#isSealOnWrite()} 时只做标记，在序列化时加密。
+     * 子类不会使用 {@link ResponseSerializer}，无法保证序列化时加密，因此仍直接加密数据
      *
      * @return {@link Response}
      *
      * @since 1.0.0
      */
     public Response<T> encode() {
+        if (BootConfig.isSealOnWrite() && getClass() == Response.class) {
+            sealOnWrite = true;
+            return this;
+        }
         BootConfig.getFieldEncoder().encodeField(getData());
         sealed = true;
         return this;
     }
 
+    /**
+     * 是否在序列化时对数据进行加密
+     *
+     * @return 是否在序列化时对数据进行加密
+     *
+     * @since 1.1.6
+     */
+    @JSONField(serialize = false)
+    public boolean isSealOnWrite() {
+        return sealOnWrite;
+    }
+
     /**
      * 复制当前响应对象，不包括数据
      *
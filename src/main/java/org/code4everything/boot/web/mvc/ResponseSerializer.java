@@ -0,0 +1,39 @@
+package org.code4everything.boot.web.mvc;
+
+import com.alibaba.fastjson.serializer.ContextValueFilter;
+import com.alibaba.fastjson.serializer.JSONSerializer;
+import com.alibaba.fastjson.serializer.JavaBeanSerializer;
+import com.alibaba.fastjson.serializer.ObjectSerializer;
+import org.code4everything.boot.base.encoder.SealedValueFilter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * {@link Response} 的序列化器，响应需要在序列化时加密时，写出响应期间添加 {@link SealedValueFilter}。
+ * 是否加密从正在写出的响应对象本身读取，不依赖序列化上下文，开启 {@code DisableCircularReferenceDetect} 时同样生效
+ *
+ * @author pantao
+ * @since 1.1.6
+ */
+public class ResponseSerializer implements ObjectSerializer {
+
+    private final JavaBeanSerializer delegate = new JavaBeanSerializer(Response.class);
+
+    @Override
+    public void write(JSONSerializer serializer, Object object, Object fieldName, Type fieldType,
+                      int features) throws IOException {
+        if (!(object instanceof Response) || !((Response<?>) object).isSealOnWrite()) {
+            delegate.write(serializer, object, fieldName, fieldType, features);
+            return;
+        }
+        List<ContextValueFilter> filters = serializer.getContextValueFilters();
+        filters.add(SealedValueFilter.INSTANCE);
+        try {
+            delegate.write(serializer, object, fieldName, fieldType, features);
+        } finally {
+            filters.remove(filters.size() - 1);
+        }
+    }
+}
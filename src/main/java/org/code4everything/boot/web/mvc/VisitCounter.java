@@ -0,0 +1,219 @@
+package org.code4everything.boot.web.mvc;
+
+import cn.hutool.core.util.ObjectUtil;
+import cn.hutool.core.util.StrUtil;
+import org.code4everything.boot.base.MapUtils;
+import org.code4everything.boot.base.collection.TopKCounter;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 访问统计计数器<br>请求线程直接累加分段计数器，不再经过单独的统计线程；指定 topK 时只保留访问次数最多的用户和URL，内存占用固定
+ *
+ * @author pantao
+ * @since 1.1.6
+ */
+@ThreadSafe
+public final class VisitCounter {
+
+    /**
+     * 用户访问统计
+     *
+     * @since 1.1.6
+     */
+    private final ConcurrentMap<String, LongAdder> userVisitMap = new ConcurrentHashMap<>(1024);
+
+    /**
+     * URL访问统计
+     *
+     * @since 1.1.6
+     */
+    private final ConcurrentMap<String, LongAdder> urlVisitMap = new ConcurrentHashMap<>(128);
+
+    /**
+     * 总访问次数
+     *
+     * @since 1.1.6
+     */
+    private final LongAdder totalVisit = new LongAdder();
+
+    /**
+     * 用户高频统计，为空时精确统计所有用户
+     *
+     * @since 1.1.6
+     */
+    private final TopKCounter<String> userTopK;
+
+    /**
+     * URL高频统计，为空时精确统计所有URL
+     *
+     * @since 1.1.6
+     */
+    private final TopKCounter<String> urlTopK;
+
+    /**
+     * 构造函数，精确统计所有用户和URL
+     *
+     * @since 1.1.6
+     */
+    public VisitCounter() {
+        this(0);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param topK 只统计访问次数最多的用户和URL的数量，小于等于0时精确统计
+     *
+     * @since 1.1.6
+     */
+    public VisitCounter(int topK) {
+        if (topK > 0) {
+            userTopK = new TopKCounter<>(topK);
+            urlTopK = new TopKCounter<>(topK);
+        } else {
+            userTopK = null;
+            urlTopK = null;
+        }
+    }
+
+    /**
+     * 新建一个相同统计模式的空计数器
+     *
+     * @return {@link VisitCounter}
+     *
+     * @since 1.1.6
+     */
+    public VisitCounter newEmpty() {
+        return new VisitCounter(Objects.isNull(userTopK) ? 0 : userTopK.getK());
+    }
+
+    /**
+     * 统计一次访问
+     *
+     * @param userKey 用户键，为空时不统计用户访问次数
+     * @param url 访问的URL
+     *
+     * @since 1.1.6
+     */
+    public void count(String userKey, String url) {
+        if (StrUtil.isNotEmpty(userKey)) {
+            increment(userVisitMap, userTopK, userKey, 1);
+        }
+        increment(urlVisitMap, urlTopK, url, 1);
+        totalVisit.increment();
+    }
+
+    /**
+     * 合并另一个计数器的统计数据，用于回滚未能成功保存的快照
+     *
+     * @param other 另一个计数器
+     *
+     * @since 1.1.6
+     */
+    public void merge(VisitCounter other) {
+        other.getUserVisitMap(false).forEach((key, count) -> increment(userVisitMap, userTopK, key, count));
+        other.getUrlVisitMap(false).forEach((key, count) -> increment(urlVisitMap, urlTopK, key, count));
+        totalVisit.add(other.totalVisit.sum());
+    }
+
+    /**
+     * 获取用户访问统计（按访问次数降序），高频统计模式下为估算的次数
+     *
+     * @param clear 是否清除已有访问日志
+     *
+     * @return 用户访问统计
+     *
+     * @since 1.1.6
+     */
+    public Map<String, Long> getUserVisitMap(boolean clear) {
+        return sumHelper(userVisitMap, userTopK, clear);
+    }
+
+    /**
+     * 获取URL访问统计（按访问次数降序），高频统计模式下为估算的次数
+     *
+     * @param clear 是否清除已有访问日志
+     *
+     * @return URL访问统计
+     *
+     * @since 1.1.6
+     */
+    public Map<String, Long> getUrlVisitMap(boolean clear) {
+        return sumHelper(urlVisitMap, urlTopK, clear);
+    }
+
+    /**
+     * 获取总访问次数
+     *
+     * @param clear 是否清除
+     *
+     * @return 总访问次数
+     *
+     * @since 1.1.6
+     */
+    public long getTotalVisit(boolean clear) {
+        return clear ? totalVisit.sumThenReset() : totalVisit.sum();
+    }
+
+    /**
+     * 累加计数
+     *
+     * @param map 集合
+     * @param topK 高频统计
+     * @param key 键
+     * @param delta 增量
+     *
+     * @since 1.1.6
+     */
+    private static void increment(ConcurrentMap<String, LongAdder> map, TopKCounter<String> topK, String key,
+                                  long delta) {
+        if (ObjectUtil.isNotNull(topK)) {
+            topK.add(key, delta);
+            return;
+        }
+        LongAdder adder = map.get(key);
+        if (adder == null) {
+            adder = map.computeIfAbsent(key, k -> new LongAdder());
+        }
+        adder.add(delta);
+    }
+
+    /**
+     * 汇总计数
+     *
+     * @param map 集合
+     * @param topK 高频统计
+     * @param clear 是否清除
+     *
+     * @return 排序后的访问统计
+     *
+     * @since 1.1.6
+     */
+    private static Map<String, Long> sumHelper(ConcurrentMap<String, LongAdder> map, TopKCounter<String> topK,
+                                               boolean clear) {
+        if (ObjectUtil.isNotNull(topK)) {
+            Map<String, Long> top = topK.top();
+            if (clear) {
+                topK.clear();
+            }
+            return top;
+        }
+        Map<String, Long> tmp = new HashMap<>(Math.max(16, map.size() * 4 / 3));
+        map.forEach((key, adder) -> {
+            if (clear) {
+                // 先移除再汇总，之后的访问会计入新的计数器
+                map.remove(key, adder);
+            }
+            tmp.put(key, adder.sum());
+        });
+        return MapUtils.sortByValue(tmp, Comparator.reverseOrder());
+    }
+}
@@ -6,6 +6,7 @@ import com.google.common.collect.Lists;
 import org.junit.Test;
 
 import java.util.*;
+import java.util.stream.Collectors;
 
 public class SortedListTest {
 
@@ -87,4 +88,246 @@ public class SortedListTest {
         sortedList.addSorted(list);
         System.out.println(sortedList.getList());
     }
+
+    @Test
+    public void skipSortedList() throws InterruptedException {
+        ConcurrentSkipSortedList<Integer> sortedList = ConcurrentSkipSortedList.of(Integer::compareTo);
+        Thread[] threads = new Thread[4];
+        for (int j = 0; j < threads.length; j++) {
+            threads[j] = new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    sortedList.add(RandomUtil.randomInt(999));
+                }
+            });
+            threads[j].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        List<Integer> list = sortedList.getList();
+        assert list.size() == 4000;
+        for (int i = 1; i < list.size(); i++) {
+            assert list.get(i - 1) <= list.get(i);
+        }
+        for (int i = 0; i < list.size(); i++) {
+            assert sortedList.get(i).equals(list.get(i));
+        }
+        Integer e = list.get(100);
+        assert sortedList.indexOf(e) == list.indexOf(e);
+        assert sortedList.get(100).equals(e);
+        assert sortedList.remove(e);
+        assert sortedList.size() == 3999;
+        assert sortedList.pollLast().equals(list.get(3999));
+        assert sortedList.get(3997).equals(list.get(3998));
+    }
+
+    @Test
+    public void skipSortedListShards() throws InterruptedException {
+        // 分片容量很小，相等的元素会被拆分到多个分片中
+        ConcurrentSkipSortedList<Integer> sortedList = ConcurrentSkipSortedList.of(Integer::compareTo, 16);
+        Thread[] threads = new Thread[8];
+        for (int j = 0; j < threads.length; j++) {
+            threads[j] = new Thread(() -> {
+                for (int i = 0; i < 2000; i++) {
+                    sortedList.add(RandomUtil.randomInt(300));
+                }
+            });
+            threads[j].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assert sortedList.getShardCount() > 1;
+        List<Integer> expected = new ArrayList<>(sortedList.getList());
+        assert expected.size() == 16000 && sortedList.size() == 16000;
+        for (int i = 1; i < expected.size(); i++) {
+            assert expected.get(i - 1) <= expected.get(i);
+        }
+
+        Random random = new Random(7);
+        for (int round = 0; round < 20000; round++) {
+            int op = random.nextInt(5);
+            Integer e = random.nextInt(300);
+            if (op == 0) {
+                sortedList.add(e);
+                int index = Collections.binarySearch(expected, e + 1, Integer::compareTo);
+                index = index < 0 ? -index - 1 : index;
+                while (index > 0 && expected.get(index - 1) > e) {
+                    index--;
+                }
+                while (index < expected.size() && expected.get(index) <= e) {
+                    index++;
+                }
+                expected.add(index, e);
+            } else if (op == 1) {
+                assert sortedList.remove(e) == expected.remove(e);
+            } else if (op == 2) {
+                assert Objects.equals(sortedList.pollFirst(), expected.isEmpty() ? null : expected.remove(0));
+            } else if (op == 3) {
+                assert sortedList.indexOf(e) == expected.indexOf(e);
+            } else if (!expected.isEmpty()) {
+                int index = random.nextInt(expected.size());
+                assert sortedList.get(index).equals(expected.get(index));
+            }
+        }
+        assert sortedList.getList().equals(expected);
+        assert sortedList.size() == expected.size();
+        assert Objects.equals(sortedList.first(), expected.isEmpty() ? null : expected.get(0));
+        assert Objects.equals(sortedList.last(), expected.isEmpty() ? null : expected.get(expected.size() - 1));
+
+        while (sortedList.pollLast() != null) {
+            // 删除所有元素后只保留一个分片
+        }
+        assert sortedList.isEmpty() && sortedList.getShardCount() == 1;
+        try {
+            sortedList.get(0);
+            assert false;
+        } catch (IndexOutOfBoundsException e) {
+            // 预期
+        }
+    }
+
+    @Test
+    public void optimisticRead() throws InterruptedException {
+        ConcurrentSortedList<Integer, List<Integer>> sortedList = SortedList.ofConcurrent(new ArrayList<>(),
+                                                                                           Integer::compareTo);
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < 10000; i++) {
+                sortedList.add(RandomUtil.randomInt(999));
+            }
+        });
+        writer.start();
+        while (writer.isAlive()) {
+            List<Integer> snapshot = sortedList.getSnapshot();
+            for (int i = 1; i < snapshot.size(); i++) {
+                assert snapshot.get(i - 1) <= snapshot.get(i);
+            }
+            int size = sortedList.size();
+            if (size > 0) {
+                assert sortedList.get(size - 1) != null;
+            }
+        }
+        writer.join();
+        assert sortedList.size() == 10000;
+        assert sortedList.getSnapshot() == sortedList.getSnapshot();
+        Integer e = sortedList.get(500);
+        assert sortedList.get(sortedList.indexOf(e)).equals(e);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void lockReleasedOnException() {
+        ConcurrentSortedList<Integer, List<Integer>> sortedList = SortedList.ofConcurrent(new ArrayList<>(), null);
+        try {
+            sortedList.add(1);
+        } catch (RuntimeException e) {
+            // 比较器为空时抛出异常，锁必须已释放
+        }
+        sortedList.setList(new ArrayList<>(), Integer::compareTo);
+        sortedList.add(null);
+    }
+
+    @Test
+    public void mergeAddAll() {
+        List<Integer> origin = new ArrayList<>(200000);
+        for (int i = 0; i < 200000; i++) {
+            origin.add(RandomUtil.randomInt(1000000));
+        }
+        List<Integer> batch = new ArrayList<>(20000);
+        for (int i = 0; i < 20000; i++) {
+            batch.add(RandomUtil.randomInt(1000000));
+        }
+
+        // 逐个二分插入
+        SortedList<Integer, List<Integer>> single = SortedList.of(new ArrayList<>(origin), Integer::compareTo);
+        long start = System.currentTimeMillis();
+        batch.forEach(single::add);
+        System.out.println("single add: " + (System.currentTimeMillis() - start) + "ms");
+
+        // 排序后归并
+        SortedList<Integer, List<Integer>> merged = SortedList.of(new ArrayList<>(origin), Integer::compareTo);
+        start = System.currentTimeMillis();
+        merged.addAll(batch);
+        System.out.println("merge add: " + (System.currentTimeMillis() - start) + "ms");
+
+        assert single.getList().equals(merged.getList());
+    }
+
+    @Test
+    public void bounded() {
+        // 只保留最大的5个数据
+        SortedList<Integer, List<Integer>> sortedList = SortedList.ofBounded(new ArrayList<>(), (i1, i2) -> i2 - i1, 5);
+        for (int i = 0; i < 100; i++) {
+            sortedList.add(i);
+        }
+        assert sortedList.getList().equals(Lists.newArrayList(99, 98, 97, 96, 95));
+        assert sortedList.add(1) == -1;
+        assert sortedList.add(100) == 0;
+        assert sortedList.size() == 5;
+
+        ConcurrentSortedList<Integer, List<Integer>> concurrent = ConcurrentSortedList.ofBounded(new ArrayList<>(),
+                                                                                                Integer::compareTo, 3);
+        List<Integer> batch = new ArrayList<>();
+        for (int i = 100; i > 0; i--) {
+            batch.add(i);
+        }
+        concurrent.addAll(batch);
+        assert concurrent.getSnapshot().equals(Lists.newArrayList(1, 2, 3));
+        concurrent.setCapacity(2);
+        assert concurrent.getSnapshot().equals(Lists.newArrayList(1, 2));
+
+        // 批量添加时列表不会超出容量
+        PeakList peak = new PeakList();
+        SortedList<Integer, List<Integer>> top = SortedList.ofBounded(peak, Integer::compareTo, 10);
+        top.addAll(Lists.newArrayList(50, 40, 30));
+        List<Integer> large = new ArrayList<>();
+        for (int i = 10000; i > 0; i--) {
+            large.add(i);
+        }
+        top.addAll(large);
+        Collections.reverse(large);
+        top.addSorted(large);
+        assert top.getList().equals(Lists.newArrayList(1, 1, 2, 2, 3, 3, 4, 4, 5, 5));
+        assert peak.peak <= 10;
+    }
+
+    private static class PeakList extends ArrayList<Integer> {
+
+        private int peak = 0;
+
+        @Override
+        public boolean addAll(Collection<? extends Integer> c) {
+            boolean res = super.addAll(c);
+            peak = Math.max(peak, size());
+            return res;
+        }
+
+        @Override
+        public void add(int index, Integer element) {
+            super.add(index, element);
+            peak = Math.max(peak, size());
+        }
+
+        @Override
+        public boolean add(Integer element) {
+            boolean res = super.add(element);
+            peak = Math.max(peak, size());
+            return res;
+        }
+    }
+
+    @Test
+    public void mergeIterator() {
+        Queue<Integer> queue = new PriorityQueue<>(Lists.newArrayList(8, 2, 5));
+        SortedMergeIterator<Integer> iterator = SortedMergeIterator.ofIterators(Integer::compareTo,
+                                                                                 Lists.newArrayList(1, 4, 9).iterator(),
+                                                                                 SortedMergeIterator.polling(queue),
+                                                                                 Lists.newArrayList(3, 3, 7).iterator());
+        assert iterator.next() == 1;
+        assert iterator.stream().collect(Collectors.toList()).equals(Lists.newArrayList(2, 3, 3, 4, 5, 7, 8, 9));
+        assert queue.isEmpty();
+
+        queue = new PriorityQueue<>(Lists.newArrayList(6, 1, 9));
+        List<Integer> list = SortedList.sortTo(queue, Lists.newArrayList(7, 3, 2), null);
+        assert list.equals(Lists.newArrayList(1, 2, 3, 6, 7, 9));
+    }
 }
@@ -0,0 +1,42 @@
+package org.code4everything.boot.base.collection;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+public class SortedPrimitiveListTest {
+
+    @Test
+    public void sortedLongList() {
+        SortedLongList list = SortedLongList.of(5, 1, 9, 3, 3);
+        assert Arrays.equals(list.toArray(), new long[]{1, 3, 3, 5, 9});
+        assert list.add(4) == 3;
+        assert list.indexOf(3) == 1;
+        assert list.indexOf(2) == -1;
+        assert list.countBetween(3, 5) == 4;
+        assert Arrays.equals(list.subRange(9, 4), new long[]{4, 5, 9});
+        assert list.remove(3);
+        assert list.size() == 5;
+        list.addAll(8, 0, 7);
+        assert Arrays.equals(list.toArray(), new long[]{0, 1, 3, 4, 5, 7, 8, 9});
+    }
+
+    @Test
+    public void sortedIntListReverse() {
+        SortedIntList list = SortedIntList.ofReverse(5, 1, 9, 3);
+        assert Arrays.equals(list.toArray(), new int[]{9, 5, 3, 1});
+        list.add(4);
+        assert list.first() == 9 && list.get(2) == 4;
+        assert list.countBetween(1, 4) == 3;
+        assert Arrays.equals(list.subRange(2, 6), new int[]{5, 4, 3});
+    }
+
+    @Test
+    public void sortedDoubleList() {
+        SortedDoubleList list = SortedDoubleList.of(0.5, -1.5, 2.25);
+        list.add(1.0);
+        assert Arrays.equals(list.toArray(), new double[]{-1.5, 0.5, 1.0, 2.25});
+        assert list.contains(1.0) && !list.contains(1.5);
+        assert list.countBetween(0, 3) == 3;
+    }
+}
@@ -0,0 +1,62 @@
+package org.code4everything.boot.base.collection;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+public class TopKCounterTest {
+
+    @Test
+    public void top() {
+        TopKCounter<String> counter = new TopKCounter<>(3);
+        for (int i = 0; i < 10000; i++) {
+            counter.increment("user-" + i);
+            if (i % 2 == 0) {
+                counter.increment("hot-a");
+            }
+            if (i % 3 == 0) {
+                counter.increment("hot-b");
+            }
+            if (i % 4 == 0) {
+                counter.increment("hot-c");
+            }
+        }
+        Map<String, Long> top = counter.top();
+        System.out.println(top);
+        assert top.size() == 3;
+        assert top.keySet().iterator().next().equals("hot-a");
+        assert top.containsKey("hot-b") && top.containsKey("hot-c");
+        assert counter.estimate("hot-a") >= 5000;
+    }
+
+    @Test
+    public void evictMin() {
+        // 键i出现i次，乱序累加，淘汰后只保留次数最多的K个键
+        TopKCounter<String> counter = new TopKCounter<>(10, 1 << 16, 4);
+        List<String> keys = new ArrayList<>();
+        for (int i = 1; i <= 300; i++) {
+            for (int j = 0; j < i; j++) {
+                keys.add("key-" + i);
+            }
+        }
+        Collections.shuffle(keys, new Random(7));
+        keys.forEach(counter::increment);
+        Set<String> expected = new HashSet<>();
+        for (int i = 291; i <= 300; i++) {
+            expected.add("key-" + i);
+        }
+        Map<String, Long> top = counter.top();
+        assert top.keySet().equals(expected) : top;
+        assert top.keySet().iterator().next().equals("key-300");
+        counter.clear();
+        assert counter.top().isEmpty();
+        counter.increment("key");
+        assert counter.top().size() == 1;
+    }
+}
@@ -0,0 +1,192 @@
+package org.code4everything.boot.base.encoder;
+
+import cn.hutool.crypto.digest.DigestUtil;
+import cn.hutool.crypto.digest.HMac;
+import cn.hutool.crypto.digest.HmacAlgorithm;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @author pantao
+ * @since 1.1.6
+ */
+public class DefaultFieldEncoderTest {
+
+    @Test
+    public void encodeField() {
+        FieldEncoder encoder = new DefaultFieldEncoder();
+        Account account = new Account("god", "123456", "13800000000");
+        assert encoder.encodeField(Collections.singletonList(account));
+        assert "god".equals(account.username);
+        assert DigestUtil.md5Hex("123456").equals(account.password);
+        assert "******".equals(account.profile.phone);
+        assert !encoder.encodeField(new Object());
+        assert SealedClass.of(Object.class).getKind() == SealedClass.Kind.SKIP;
+
+        Account custom = new Account("god", "123456", "13800000000");
+        new DefaultFieldEncoder() {
+            @Override
+            protected boolean encodeField(Field field, Object data, Sealed sealed) {
+                return field.getName().equals("password") && super.encodeField(field, data, sealed);
+            }
+        }.encodeField(custom);
+        assert "13800000000".equals(custom.profile.phone);
+        assert DigestUtil.md5Hex("123456").equals(custom.password);
+
+        Node node = new Node();
+        node.next = node;
+        assert new DefaultFieldEncoder() {
+            @Override
+            protected boolean encodeField(Field field, Object data, Sealed sealed) {
+                return super.encodeField(field, data, sealed);
+            }
+        }.encodeField(node);
+        assert "******".equals(node.name);
+    }
+
+    @Test
+    public void encodeSharedOnce() {
+        Account account = new Account("god", "123456", "13800000000");
+        List<Account> rows = new ArrayList<>();
+        rows.add(account);
+        rows.add(account);
+        assert new DefaultFieldEncoder().encodeField(rows);
+        assert DigestUtil.md5Hex("123456").equals(account.password);
+
+        Account shared = new Account("god", "123456", "13800000000");
+        List<Account> page = new ArrayList<>();
+        for (int i = 0; i < 4096; i++) {
+            page.add(shared);
+        }
+        assert new DefaultFieldEncoder(16).encodeField(page);
+        assert DigestUtil.md5Hex("123456").equals(shared.password);
+
+        // 并行加密过的对象在之后的顺序遍历中同样被跳过
+        Account sibling = new Account("god", "x", null);
+        List<Account> large = new ArrayList<>();
+        large.add(sibling);
+        for (int i = 0; i < 10; i++) {
+            large.add(new Account("user" + i, "password" + i, null));
+        }
+        List<Object> mixed = new ArrayList<>();
+        mixed.add(large);
+        mixed.add(sibling);
+        assert new DefaultFieldEncoder(5).encodeField(mixed);
+        assert DigestUtil.md5Hex("x").equals(sibling.password);
+    }
+
+    @Test
+    public void encodeGraph() {
+        Node node = new Node();
+        node.next = node;
+        List<Object> rows = new ArrayList<>();
+        rows.add("plain");
+        rows.add(new Object());
+        rows.add(node);
+        rows.add(rows);
+        assert new DefaultFieldEncoder().encodeField(rows);
+        assert "******".equals(node.name);
+
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < 100000; i++) {
+            accounts.add(new Account("user" + i, "password" + i, null));
+        }
+        long start = System.nanoTime();
+        assert new DefaultFieldEncoder(1024).encodeField(accounts);
+        System.out.println("parallel seal 100000 rows: " + (System.nanoTime() - start) / 1000000 + "ms");
+        assert accounts.stream().allMatch(account -> account.password.length() == 32);
+    }
+
+    @Test
+    public void strategies() throws NoSuchFieldException {
+        assert DigestUtil.md5Hex("中文").equals(SealStrategies.resolve(sealed("md5")).seal("中文"));
+        assert DigestUtil.sha1Hex("value").equals(SealStrategies.resolve(sealed("sha1")).seal("value"));
+        assert DigestUtil.sha256Hex("value").equals(SealStrategies.resolve(sealed("sha256")).seal("value"));
+        String hmac = new HMac(HmacAlgorithm.HmacSHA256, "secret".getBytes()).digestHex("13800000000");
+        assert hmac.equals(SealStrategies.resolve(sealed("token")).seal("13800000000"));
+        assert SealStrategies.resolve(sealed("token")) == SealStrategies.resolve(sealed("phone"));
+
+        SealStrategies.register("reverse", sealed -> value -> new StringBuilder(value).reverse().toString());
+        assert "cba".equals(SealStrategies.resolve(sealed("reversed")).seal("abc"));
+    }
+
+    private static Sealed sealed(String name) throws NoSuchFieldException {
+        return Keys.class.getDeclaredField(name).getAnnotation(Sealed.class);
+    }
+
+    @Test
+    public void benchmark() {
+        FieldEncoder encoder = new DefaultFieldEncoder();
+        List<Account> accounts = new ArrayList<>(10000);
+        for (int i = 0; i < 10000; i++) {
+            accounts.add(new Account("user" + i, null, null));
+        }
+        encoder.encodeField(accounts);
+        long start = System.nanoTime();
+        for (int i = 0; i < 20; i++) {
+            encoder.encodeField(accounts);
+        }
+        System.out.println("seal 10000 rows: " + (System.nanoTime() - start) / 20 / 1000 + "us");
+    }
+
+    private static class Account {
+
+        private String username;
+
+        @Sealed("md5")
+        private String password;
+
+        @Sealed
+        private Profile profile;
+
+        private Account(String username, String password, String phone) {
+            this.username = username;
+            this.password = password;
+            this.profile = new Profile(phone);
+        }
+    }
+
+    private static class Keys {
+
+        @Sealed("md5")
+        private String md5;
+
+        @Sealed("sha1")
+        private String sha1;
+
+        @Sealed("sha256")
+        private String sha256;
+
+        @Sealed(value = "hmac-sha256", privateKey = "secret", params = "{\"memo\": 16}")
+        private String token;
+
+        @Sealed(value = "hmac-sha256", privateKey = "secret", params = "{\"memo\": 16}")
+        private String phone;
+
+        @Sealed("reverse")
+        private String reversed;
+    }
+
+    private static class Node {
+
+        @Sealed
+        private String name = "node";
+
+        @Sealed
+        private Node next;
+    }
+
+    private static class Profile {
+
+        @Sealed
+        private String phone;
+
+        private Profile(String phone) {
+            this.phone = phone;
+        }
+    }
+}
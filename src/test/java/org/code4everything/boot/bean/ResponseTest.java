@@ -1,10 +1,19 @@
 package org.code4everything.boot.bean;
 
 import cn.hutool.core.util.ObjectUtil;
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.PropertyNamingStrategy;
+import com.alibaba.fastjson.annotation.JSONField;
+import com.alibaba.fastjson.serializer.SerializeConfig;
+import com.alibaba.fastjson.serializer.SerializerFeature;
+import org.code4everything.boot.base.encoder.Sealed;
+import org.code4everything.boot.config.BootConfig;
 import org.code4everything.boot.web.mvc.FilterPath;
 import org.code4everything.boot.web.mvc.Response;
 import org.junit.Test;
 
+import java.util.Collections;
+
 public class ResponseTest {
 
     @Test
@@ -28,4 +37,112 @@ public class ResponseTest {
         response = ObjectUtil.unserialize(ObjectUtil.serialize(response));
         System.out.println(response.toJsonString());
     }
+
+    @Test
+    public void sealOnWrite() {
+        SealedUser user = new SealedUser();
+        user.setName("god");
+        user.setPassword("123456");
+        BootConfig.setSealed(true, true);
+        try {
+            String json = new Response<>(Collections.singletonList(user)).encode().toJsonString();
+            assert json.contains("\"password\":\"******\"");
+            assert json.contains("\"name\":\"god\"");
+            assert "123456".equals(user.getPassword());
+            assert JSON.toJSONString(new Response<>(user)).contains("123456");
+        } finally {
+            BootConfig.setSealed(false, false);
+        }
+    }
+
+    @Test
+    public void sealOnWriteWithoutReferenceDetect() {
+        SealedUser user = new SealedUser();
+        user.setName("god");
+        user.setPassword("123456");
+        BootConfig.setSealed(true, true);
+        try {
+            Response<SealedUser> response = new Response<>(user).encode();
+            String json = JSON.toJSONString(response, SerializerFeature.DisableCircularReferenceDetect);
+            assert json.contains("\"password\":\"******\"");
+            assert !json.contains("123456");
+            assert "123456".equals(user.getPassword());
+        } finally {
+            BootConfig.setSealed(false, false);
+        }
+    }
+
+    @Test
+    public void sealOnWriteRenamedProperty() {
+        RenamedUser user = new RenamedUser();
+        user.setPassword("123456");
+        user.setSecretCode("654321");
+        BootConfig.setSealed(true, true);
+        try {
+            Response<RenamedUser> response = new Response<>(user).encode();
+            String json = response.toJsonString();
+            assert json.contains("\"pwd\":\"******\"");
+            assert !json.contains("123456");
+            assert !json.contains("654321");
+
+            SerializeConfig config = new SerializeConfig();
+            config.propertyNamingStrategy = PropertyNamingStrategy.SnakeCase;
+            json = JSON.toJSONString(response, config);
+            assert json.contains("\"secret_code\":\"******\"");
+            assert !json.contains("123456");
+            assert !json.contains("654321");
+        } finally {
+            BootConfig.setSealed(false, false);
+        }
+    }
+
+    public static class RenamedUser {
+
+        @Sealed
+        @JSONField(name = "pwd")
+        private String password;
+
+        @Sealed
+        private String secretCode;
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public String getSecretCode() {
+            return secretCode;
+        }
+
+        public void setSecretCode(String secretCode) {
+            this.secretCode = secretCode;
+        }
+    }
+
+    public static class SealedUser {
+
+        private String name;
+
+        @Sealed
+        private String password;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+    }
 }
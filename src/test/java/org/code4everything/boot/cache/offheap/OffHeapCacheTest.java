@@ -0,0 +1,63 @@
+package org.code4everything.boot.cache.offheap;
+
+import org.code4everything.boot.cache.BootCacheManager;
+import org.junit.Test;
+import org.springframework.cache.Cache;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @author pantao
+ * @since 1.1.6
+ */
+public class OffHeapCacheTest {
+
+    @Test
+    public void serialize() {
+        BootCacheManager manager = new BootCacheManager(new OffHeapCacheCreator(1024 * 1024));
+        List<String> list = Arrays.asList("a", "b");
+        manager.putVal("offHeap", "list", list);
+        manager.putVal("offHeap", "text", "text");
+        assert list.equals(manager.getVal("offHeap", "list"));
+        assert "text".equals(manager.getVal("offHeap", "text"));
+        manager.delVal("offHeap", "text");
+        assert manager.getVal("offHeap", "text") == null;
+    }
+
+    @Test
+    public void evict() {
+        OffHeapStore store = new OffHeapStore(4096, 1024);
+        Cache cache = new OffHeapCache("evict", store, new FastJsonValueSerializer());
+        byte[] value = new byte[200];
+        store.put("hot", value);
+        for (int i = 0; i < 100; i++) {
+            // 频繁访问的值会被保留
+            assert store.get("hot") != null;
+            store.put(i, value);
+            assert store.getUsedBytes() <= store.getCapacity();
+        }
+        assert store.get("hot") != null;
+        assert store.get(0) == null && store.get(99) != null;
+        store.put("large", new byte[2048]);
+        assert store.get("large") == null;
+        cache.clear();
+        assert store.size() == 0 && store.getUsedBytes() == 0;
+    }
+
+    @Test
+    public void rejectLarge() {
+        OffHeapCache cache = new OffHeapCacheCreator(4096, 1024, new FastJsonValueSerializer()).createCache("large");
+        String large = new String(new char[2048]).replace('\0', 'a');
+        cache.put("key", "small");
+        cache.put("key", large);
+        // 超过内存段大小的值不会被缓存，旧值也被删除
+        assert cache.get("key") == null;
+        assert cache.putIfAbsent("other", large) == null;
+        assert cache.get("other") == null;
+        assert cache.getRejectedCount() == 2;
+        cache.put("key", "small");
+        assert "small".equals(cache.get("key", String.class));
+        assert cache.getRejectedCount() == 2;
+    }
+}
@@ -0,0 +1,64 @@
+package org.code4everything.boot.cache.tinylfu;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * @author pantao
+ * @since 1.1.6
+ */
+public class TinyLfuMapTest {
+
+    @Test
+    public void bounded() {
+        TinyLfuMap<Integer, Integer> map = new TinyLfuMap<>(100);
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i);
+            assert map.size() <= 100;
+        }
+        assert map.putIfAbsent(999, 0) == 999;
+        assert map.remove(999) == 999 && map.get(999) == null;
+        map.clear();
+        assert map.size() == 0;
+    }
+
+    @Test
+    public void hitRate() {
+        // 偏斜的热点访问，每隔一段时间插入一次不会重复的批量扫描
+        int[] trace = new int[200_000];
+        Random random = new Random(42);
+        int scanKey = 1_000_000;
+        for (int i = 0; i < trace.length; i++) {
+            if (i % 20_000 < 3_000) {
+                trace[i] = scanKey++;
+            } else {
+                trace[i] = (int) (5_000 * Math.pow(random.nextDouble(), 3));
+            }
+        }
+        TinyLfuMap<Integer, Integer> tinyLfu = new TinyLfuMap<>(1_000);
+        double tinyLfuRate = hitRate(trace, tinyLfu::get, key -> tinyLfu.put(key, key));
+        Cache<Integer, Integer> guava = CacheBuilder.newBuilder().maximumSize(1_000).build();
+        double guavaRate = hitRate(trace, guava::getIfPresent, key -> {
+            guava.put(key, key);
+            return null;
+        });
+        System.out.printf("hit rate: tinyLfu=%.4f, guava=%.4f%n", tinyLfuRate, guavaRate);
+        assert tinyLfuRate > guavaRate;
+    }
+
+    private double hitRate(int[] trace, Function<Integer, Integer> getter, Function<Integer, Integer> putter) {
+        int hits = 0;
+        for (int key : trace) {
+            if (getter.apply(key) == null) {
+                putter.apply(key);
+            } else {
+                hits++;
+            }
+        }
+        return (double) hits / trace.length;
+    }
+}
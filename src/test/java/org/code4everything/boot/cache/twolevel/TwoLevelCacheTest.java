@@ -0,0 +1,274 @@
+package org.code4everything.boot.cache.twolevel;
+
+import com.alibaba.fastjson.support.spring.GenericFastJsonRedisSerializer;
+import com.google.common.cache.CacheBuilder;
+import org.code4everything.boot.cache.MetricsCache;
+import org.junit.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 使用内存中的Redis替身测试二级缓存，不需要Redis服务
+ *
+ * @author pantao
+ * @since 1.1.6
+ */
+public class TwoLevelCacheTest {
+
+    private static final String CHANNEL = "test:cache:invalidate";
+
+    private static final long TTL = 60_000;
+
+    @Test
+    public void twoNodes() throws Exception {
+        FakeRedis redis = new FakeRedis();
+        TwoLevelCacheManager nodeA = newManager(redis);
+        TwoLevelCacheManager nodeB = newManager(redis);
+        try {
+            TwoLevelCache cacheA = (TwoLevelCache) MetricsCache.unwrap(nodeA.getCache("user"));
+            TwoLevelCache cacheB = (TwoLevelCache) MetricsCache.unwrap(nodeB.getCache("user"));
+            // 监听容器在后台线程订阅频道
+            await(() -> redis.subscribers.size() == 2);
+
+            // 二级缓存回填一级缓存
+            redis.values.put("user:1", "god");
+            assert cacheB.getLocalCache().getIfPresent("1") == null;
+            assert "god".equals(cacheB.get(1).get());
+            assert "god".equals(cacheB.getLocalCache().getIfPresent("1"));
+
+            // 写入Redis并设置过期时间，其他节点的本地缓存失效，自己的通知被忽略
+            cacheA.put(1, "pan");
+            assert "pan".equals(redis.values.get("user:1"));
+            assert redis.ttls.get("user:1") == TTL;
+            await(() -> Objects.isNull(cacheB.getLocalCache().getIfPresent("1")));
+            assert "pan".equals(cacheA.getLocalCache().getIfPresent("1"));
+            assert "pan".equals(cacheB.get(1).get());
+
+            // 删除
+            cacheA.evict(1);
+            await(() -> Objects.isNull(cacheB.getLocalCache().getIfPresent("1")));
+            assert !redis.values.containsKey("user:1");
+            assert cacheB.get(1) == null;
+
+            // 加载后以SETNX写入Redis，其他节点直接读取
+            AtomicInteger loads = new AtomicInteger();
+            assert "loaded".equals(cacheA.get(2, () -> {
+                loads.incrementAndGet();
+                return "loaded";
+            }));
+            assert redis.ttls.get("user:2") == TTL;
+            assert "loaded".equals(cacheB.get(2, () -> {
+                loads.incrementAndGet();
+                return "other";
+            }));
+            assert loads.get() == 1;
+
+            // 批量写入通过管道完成，只发送一条失效通知
+            cacheB.getLocalCache().put("3", "stale");
+            int published = redis.published.get();
+            Map<Object, Object> map = new HashMap<>(4);
+            map.put(3, "three");
+            map.put(4, "four");
+            cacheA.putAll(map);
+            assert redis.published.get() == published + 1;
+            assert redis.ttls.get("user:3") == TTL && redis.ttls.get("user:4") == TTL;
+            await(() -> Objects.isNull(cacheB.getLocalCache().getIfPresent("3")));
+            assert cacheB.getAll(Arrays.asList(3, 4, 5)).equals(map);
+        } finally {
+            nodeA.destroy();
+            nodeB.destroy();
+        }
+    }
+
+    @Test
+    public void withoutTtl() {
+        FakeRedis redis = new FakeRedis();
+        TwoLevelCache cache = new TwoLevelCacheCreator(CacheBuilder.newBuilder(), redis.template, 0, CHANNEL)
+                .createCache("config");
+        cache.put("k", "v");
+        assert "v".equals(redis.values.get("config:k"));
+        assert !redis.ttls.containsKey("config:k");
+        assert redis.published.get() == 1;
+    }
+
+    private static TwoLevelCacheManager newManager(FakeRedis redis) {
+        return new TwoLevelCacheManager(new TwoLevelCacheCreator(CacheBuilder.newBuilder(), redis.template, TTL,
+                                                                 CHANNEL));
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assert System.currentTimeMillis() < deadline : "condition not met in time";
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * 内存中的Redis替身，只实现二级缓存用到的命令，发布的消息会同步投递给所有订阅者
+     */
+    private static class FakeRedis {
+
+        private final Map<String, Object> values = new ConcurrentHashMap<>();
+
+        private final Map<String, Long> ttls = new ConcurrentHashMap<>();
+
+        private final AtomicInteger published = new AtomicInteger();
+
+        private final List<Map.Entry<MessageListener, byte[][]>> subscribers = new CopyOnWriteArrayList<>();
+
+        private final StringRedisSerializer keySerializer = new StringRedisSerializer();
+
+        private final GenericFastJsonRedisSerializer valueSerializer = new GenericFastJsonRedisSerializer();
+
+        private final RedisConnection connection = proxy(RedisConnection.class, this::onConnection);
+
+        private final FakeTemplate template = new FakeTemplate();
+
+        private FakeRedis() {
+            template.setConnectionFactory(proxy(RedisConnectionFactory.class, (method, args) -> {
+                if ("getConnection".equals(method.getName())) {
+                    return connection;
+                }
+                return defaultValue(method.getReturnType());
+            }));
+            template.setKeySerializer(keySerializer);
+            template.setValueSerializer(valueSerializer);
+        }
+
+        private void set(String key, Object value, long ttl) {
+            values.put(key, value);
+            if (ttl > 0) {
+                ttls.put(key, ttl);
+            } else {
+                ttls.remove(key);
+            }
+        }
+
+        private Object onConnection(Method method, Object[] args) {
+            switch (method.getName()) {
+                case "subscribe":
+                    subscribers.add(new AbstractMap.SimpleEntry<>((MessageListener) args[0], (byte[][]) args[1]));
+                    return null;
+                case "publish":
+                    published.incrementAndGet();
+                    for (Map.Entry<MessageListener, byte[][]> subscriber : subscribers) {
+                        for (byte[] channel : subscriber.getValue()) {
+                            if (Arrays.equals(channel, (byte[]) args[0])) {
+                                subscriber.getKey().onMessage(new DefaultMessage((byte[]) args[0], (byte[]) args[1]),
+                                                              null);
+                            }
+                        }
+                    }
+                    return (long) subscribers.size();
+                case "set":
+                    set(keySerializer.deserialize((byte[]) args[0]), valueSerializer.deserialize((byte[]) args[1]),
+                        0);
+                    return true;
+                case "pSetEx":
+                    set(keySerializer.deserialize((byte[]) args[0]), valueSerializer.deserialize((byte[]) args[2]),
+                        (long) args[1]);
+                    return true;
+                default:
+                    return defaultValue(method.getReturnType());
+            }
+        }
+
+        private Object onValueOperations(Method method, Object[] args) {
+            switch (method.getName()) {
+                case "get":
+                    return values.get(String.valueOf(args[0]));
+                case "multiGet":
+                    List<Object> list = new ArrayList<>();
+                    ((Collection<?>) args[0]).forEach(key -> list.add(values.get(String.valueOf(key))));
+                    return list;
+                case "set":
+                    set((String) args[0], args[1], args.length > 2 ? ((TimeUnit) args[3]).toMillis((long) args[2]) : 0);
+                    return null;
+                case "setIfAbsent":
+                    if (values.containsKey((String) args[0])) {
+                        return false;
+                    }
+                    set((String) args[0], args[1], args.length > 2 ? ((TimeUnit) args[3]).toMillis((long) args[2]) : 0);
+                    return true;
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        }
+
+        private class FakeTemplate extends RedisTemplate<String, Object> {
+
+            private final ValueOperations<String, Object> valueOperations = proxy(ValueOperations.class,
+                                                                                  FakeRedis.this::onValueOperations);
+
+            @Override
+            public ValueOperations<String, Object> opsForValue() {
+                return valueOperations;
+            }
+
+            @Override
+            public Boolean delete(String key) {
+                ttls.remove(key);
+                return Objects.nonNull(values.remove(key));
+            }
+
+            @Override
+            public Long delete(Collection<String> keys) {
+                return keys.stream().filter(this::delete).count();
+            }
+
+            @Override
+            public <T> T execute(RedisCallback<T> action) {
+                return action.doInRedis(connection);
+            }
+
+            @Override
+            public List<Object> executePipelined(RedisCallback<?> action) {
+                action.doInRedis(connection);
+                return Collections.emptyList();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<?> type, Handler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return type.getSimpleName() + "Stub";
+                default:
+                    return handler.handle(method, args);
+            }
+        });
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        return type.isPrimitive() && type != void.class ? Array.get(Array.newInstance(type, 1), 0) : null;
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+
+        Object handle(Method method, Object[] args);
+    }
+}
@@ -1,9 +1,41 @@
 package org.code4everything.boot.common;
 
+import com.google.common.base.Ticker;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import org.code4everything.boot.cache.AbstractCache;
+import org.code4everything.boot.cache.CacheKeyExpression;
+import org.code4everything.boot.cache.CacheSnapshotter;
+import org.code4everything.boot.cache.CacheStats;
+import org.code4everything.boot.cache.MultiValueCache;
+import org.code4everything.boot.cache.RefreshPolicy;
+import org.code4everything.boot.cache.guava.GuavaCache;
+import org.code4everything.boot.cache.guava.GuavaCacheCreator;
+import org.code4everything.boot.cache.guava.GuavaCacheManager;
 import org.junit.Test;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
 /**
  * @author pantao
  * @since 2019-05-07
@@ -17,4 +49,260 @@ public class CacheTest {
         cache.put("test", "test");
         assert "test".equals(cache.getIfPresent("test"));
     }
+
+    @Test
+    public void singleFlight() throws Exception {
+        singleFlight(new GuavaCache("guava", CacheBuilder.newBuilder()));
+        singleFlight(new MapCache());
+    }
+
+    @Test
+    public void refreshAhead() {
+        AtomicLong nanos = new AtomicLong();
+        Ticker ticker = new Ticker() {
+            @Override
+            public long read() {
+                return nanos.get();
+            }
+        };
+        // 在当前线程中刷新，刷新完成后才返回
+        RefreshPolicy policy = new RefreshPolicy(50, 300, TimeUnit.MILLISECONDS, Runnable::run, ticker);
+        GuavaCache cache = new GuavaCacheCreator(CacheBuilder.newBuilder(), policy).createCache("refresh");
+        AtomicInteger loads = new AtomicInteger();
+        Callable<Integer> loader = loads::incrementAndGet;
+        assert cache.get("key", loader) == 1;
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(80));
+        // 软过期后返回旧值，同时刷新
+        assert cache.get("key", loader) == 1;
+        assert loads.get() == 2;
+        assert cache.get("key", loader) == 2;
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(60));
+        // 刷新后的值同样超过软过期时间，会再次刷新
+        assert cache.get("key", loader) == 2;
+        assert loads.get() == 3;
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(400));
+        // 硬过期后同步加载
+        assert cache.get("key", loader) == 4;
+        assert loads.get() == 4;
+
+        // 超过硬过期时间且不再读取的值同样被淘汰
+        cache.put("unread", 1);
+        com.google.common.cache.Cache<?, ?> nativeCache = (com.google.common.cache.Cache<?, ?>) cache.getNativeCache();
+        assert nativeCache.size() == 2;
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(400));
+        nativeCache.cleanUp();
+        assert nativeCache.size() == 0;
+    }
+
+    @Test
+    public void stats() {
+        GuavaCacheManager manager = new GuavaCacheManager(CacheBuilder.newBuilder().maximumSize(2).recordStats());
+        manager.setRecordStats(true);
+        org.springframework.cache.Cache cache = manager.getCache("stats");
+        assert cache.get("a") == null;
+        cache.put("a", 1);
+        assert cache.get("a") != null;
+        assert "b".equals(cache.get("b", () -> "b"));
+        assert "b".equals(cache.get("b", () -> "c"));
+        cache.evict("a");
+        CacheStats stats = manager.stats().get("stats");
+        assert stats.getHitCount() == 2 && stats.getMissCount() == 2;
+        assert stats.getPutCount() == 1 && stats.getEvictionCount() == 1;
+        assert stats.getLoadSuccessCount() == 1 && LongStream.of(stats.getLoadTimeHistogram()).sum() == 1;
+        manager.setRecordStats(false);
+        assert manager.stats().isEmpty();
+    }
+
+    @Test
+    public void multiValue() throws InterruptedException {
+        GuavaCacheManager manager = new GuavaCacheManager(CacheBuilder.newBuilder());
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            int base = i * 1000;
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    manager.addVal("multi", "key", base + j);
+                    if (j % 2 == 0) {
+                        manager.delVal("multi", "key", (Object) (base + j));
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assert manager.<List<?>>getValByType("multi", "key").size() == 2000;
+        manager.setMaxValueSize(10);
+        manager.addVal("multi", "key", -1);
+        List<Object> list = manager.getMultiValueCache("multi").get("key");
+        assert list.size() == 10 && list.get(9).equals(-1);
+
+        manager.putVal("multi", "set", new HashSet<>(Arrays.asList(1, 2)));
+        manager.addVal("multi", "set", 2);
+        manager.addVal("multi", "set", 3);
+        Set<Integer> set = manager.getValByType("multi", "set");
+        assert set instanceof HashSet && set.size() == 3;
+        manager.delVal("multi", "set", (Object) 1);
+        assert manager.<Set<Integer>>getValByType("multi", "set").equals(new HashSet<>(Arrays.asList(2, 3)));
+
+        // 没有公开无参构造函数的集合按语义写回
+        manager.putVal("multi", "unmodifiable", Collections.unmodifiableSet(new HashSet<>(Arrays.asList(1, 2))));
+        manager.addVal("multi", "unmodifiable", 3);
+        assert manager.<Set<Integer>>getValByType("multi", "unmodifiable") instanceof LinkedHashSet;
+        // 修改函数返回的列表超出长度时同样被截断
+        MultiValueCache<Integer> multi = manager.getMultiValueCache("multi");
+        assert multi.compute("key", current -> Collections.nCopies(12, 0));
+        assert multi.get("key").size() == 10;
+        for (int i = 0; i < 5; i++) {
+            multi.add("key", i);
+        }
+        assert multi.get("key").subList(5, 10).equals(Arrays.asList(0, 1, 2, 3, 4));
+    }
+
+    @Test
+    public void batch() {
+        GuavaCacheManager manager = new GuavaCacheManager(CacheBuilder.newBuilder());
+        Map<String, Object> map = new HashMap<>(4);
+        map.put("a", 1);
+        map.put("b", 2);
+        manager.putAll("batch", map);
+        assert manager.getAll("batch", Arrays.asList("a", "b", "c")).equals(map);
+        manager.evictAll("*", Collections.singletonList("a"));
+        assert manager.getAll("batch", Arrays.asList("a", "b")).keySet().equals(Collections.singleton("b"));
+    }
+
+    @Test
+    public void snapshot() throws Exception {
+        Path directory = Files.createTempDirectory("snapshot");
+        GuavaCacheManager manager = new GuavaCacheManager(CacheBuilder.newBuilder());
+        Map<String, Object> map = new HashMap<>(4);
+        map.put("a", Arrays.asList(1, 2));
+        map.put("b", new String(new char[100_000]).replace('\0', 'b'));
+        manager.putAll("snapshot", map);
+        manager.putVal("expired", "c", "c");
+        CacheSnapshotter snapshotter = new CacheSnapshotter(manager, directory).register("snapshot", 0).register(
+                "expired", 1);
+        assert snapshotter.snapshot("snapshot") == 2;
+        assert snapshotter.snapshot("expired") == 1;
+
+        GuavaCacheManager restored = new GuavaCacheManager(CacheBuilder.newBuilder());
+        snapshotter = new CacheSnapshotter(restored, directory).register("snapshot", 0).register("expired", 1);
+        Thread.sleep(5);
+        assert snapshotter.restore("snapshot") == 2;
+        assert snapshotter.restore("expired") == 0;
+        assert snapshotter.restore("missing") == 0;
+        assert restored.getAll("snapshot", map.keySet()).equals(map);
+        assert restored.getVal("expired", "c") == null;
+
+        manager.putVal("bean", "k", new SnapshotBean("god"));
+        new CacheSnapshotter(manager, directory).register("bean", 0).snapshotAll();
+        new CacheSnapshotter(restored, directory).register("bean", 0).restoreAll();
+        assert restored.getVal("bean", "k") == null;
+        assert new CacheSnapshotter(restored, directory, "org.code4everything.").restore("bean") == 1;
+        assert "god".equals(((SnapshotBean) restored.getVal("bean", "k")).name);
+    }
+
+    public static class SnapshotBean {
+
+        public String name;
+
+        public SnapshotBean() {}
+
+        private SnapshotBean(String name) {
+            this.name = name;
+        }
+    }
+
+    @Test
+    public void keyExpression() throws NoSuchMethodException {
+        java.lang.reflect.Method method = CacheTest.class.getDeclaredMethod("keyMethod", Map.class, String.class);
+        Map<String, Object> user = Collections.singletonMap("id", 7);
+        assert "user:7:x".equals(CacheKeyExpression.compile(method, "user:{p0.id}:{a1}").generate(new Object[]{user, "x"}));
+        assert "{id=7}:x".equals(CacheKeyExpression.compile(method, "").generate(new Object[]{user, "x"}));
+        assert "null".equals(CacheKeyExpression.compile(method, "{p0.id}").generate(new Object[]{null, "x"}));
+        java.lang.reflect.Method substring = String.class.getMethod("substring", int.class);
+        assert "s:2".equals(CacheKeyExpression.compile(substring, "s:{p0}").generate(new Object[]{2}));
+    }
+
+    private static void keyMethod(Map<String, Object> user, String name) {}
+
+    @Test(expected = org.springframework.cache.Cache.ValueRetrievalException.class)
+    public void loaderException() {
+        new MapCache().get("test", () -> {
+            throw new IllegalStateException("load failed");
+        });
+    }
+
+    private void singleFlight(org.springframework.cache.Cache cache) throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> futures = new ArrayList<>(8);
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return cache.get("key", () -> {
+                        loads.incrementAndGet();
+                        Thread.sleep(100);
+                        return "value";
+                    });
+                }));
+            }
+            start.countDown();
+            // 在主线程中断言，工作线程中的异常会在get时抛出
+            for (Future<String> future : futures) {
+                assert "value".equals(future.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assert loads.get() == 1;
+        assert "value".equals(cache.get("key").get());
+    }
+
+    private static class MapCache extends AbstractCache {
+
+        private final Map<Object, Object> map;
+
+        private MapCache() {
+            this(new ConcurrentHashMap<>());
+        }
+
+        private MapCache(Map<Object, Object> map) {
+            super("map", map);
+            this.map = map;
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            return wrapValueIfNotNull(map.get(key));
+        }
+
+        @Override
+        public <T> T get(Object key, Class<T> type) {
+            return convert2(map.get(key), type);
+        }
+
+        @Override
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            return loadIfAbsent(key, valueLoader);
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            map.put(key, value);
+        }
+
+        @Override
+        public void evict(Object key) {
+            map.remove(key);
+        }
+
+        @Override
+        public void clear() {
+            map.clear();
+        }
+    }
 }
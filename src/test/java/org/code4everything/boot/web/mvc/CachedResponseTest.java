@@ -0,0 +1,214 @@
+package org.code4everything.boot.web.mvc;
+
+import cn.hutool.core.util.ZipUtil;
+import org.junit.Test;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CachedResponseTest {
+
+    @Test
+    public void get() {
+        CachedResponse cached = new CachedResponse(true);
+        AtomicInteger loads = new AtomicInteger();
+        String dict = String.join(",", Collections.nCopies(100, "dictionary"));
+        CachedResponse.Payload payload = cached.get(1, () -> {
+            loads.incrementAndGet();
+            return new Response<>(dict);
+        });
+        assert payload == cached.get(1, () -> new Response<>("other"));
+        assert loads.get() == 1;
+        assert new String(payload.getBody(), StandardCharsets.UTF_8).contains(dict);
+        assert new String(ZipUtil.unGzip(payload.getGzipBody()), StandardCharsets.UTF_8).contains(dict);
+
+        assert payload.matches(payload.getEtag());
+        assert payload.matches("W/" + payload.getEtag() + ", \"other\"");
+        assert !payload.matches("\"other\"");
+        assert !payload.getEtag().equals(cached.get(2, () -> new Response<>("other")).getEtag());
+        assert new CachedResponse(true).get(1, () -> new Response<>("small")).getGzipBody() == null;
+    }
+
+    @Test
+    public void write() {
+        CachedResponse cached = new CachedResponse(true);
+        String dict = String.join(",", Collections.nCopies(100, "dictionary"));
+        CachedResponse.Payload payload = cached.get(1, () -> new Response<>(dict));
+
+        // 不接受gzip时写入原始内容
+        HttpStub stub = new HttpStub();
+        cached.write(1, () -> new Response<>("other"), stub.request(), stub.response());
+        assert stub.status == HttpServletResponse.SC_OK;
+        assert payload.getEtag().equals(stub.headers.get("ETag"));
+        assert "Accept-Encoding".equals(stub.headers.get("Vary"));
+        assert !stub.headers.containsKey("Content-Encoding");
+        assert "application/json;charset=UTF-8".equals(stub.contentType);
+        assert stub.contentLength == payload.getBody().length;
+        assert stub.flushed;
+        assert new String(stub.body.toByteArray(), StandardCharsets.UTF_8).equals(
+                new String(payload.getBody(), StandardCharsets.UTF_8));
+
+        // 接受gzip时写入压缩后的内容
+        stub = new HttpStub();
+        stub.requestHeaders.put("Accept-Encoding", "deflate, gzip;q=0.5");
+        cached.write(1, () -> new Response<>("other"), stub.request(), stub.response());
+        assert "gzip".equals(stub.headers.get("Content-Encoding"));
+        assert stub.contentLength == payload.getGzipBody().length;
+        assert new String(ZipUtil.unGzip(stub.body.toByteArray()), StandardCharsets.UTF_8).contains(dict);
+
+        // q值为0时不压缩
+        stub = new HttpStub();
+        stub.requestHeaders.put("Accept-Encoding", "gzip;q=0.00, br");
+        cached.write(1, () -> new Response<>("other"), stub.request(), stub.response());
+        assert !stub.headers.containsKey("Content-Encoding");
+        assert stub.contentLength == payload.getBody().length;
+
+        // ETag匹配时返回304，不写入内容
+        stub = new HttpStub();
+        stub.requestHeaders.put("If-None-Match", payload.getEtag());
+        stub.requestHeaders.put("Accept-Encoding", "gzip");
+        cached.write(1, () -> new Response<>("other"), stub.request(), stub.response());
+        assert stub.status == HttpServletResponse.SC_NOT_MODIFIED;
+        assert payload.getEtag().equals(stub.headers.get("ETag"));
+        assert stub.body.size() == 0 && stub.contentType == null && !stub.flushed;
+    }
+
+    @Test
+    public void acceptGzip() {
+        assert CachedResponse.acceptGzip("gzip");
+        assert CachedResponse.acceptGzip("GZIP");
+        assert CachedResponse.acceptGzip("deflate, gzip");
+        assert CachedResponse.acceptGzip("gzip;q=1.0");
+        assert CachedResponse.acceptGzip("gzip; q=0.001");
+        assert !CachedResponse.acceptGzip(null);
+        assert !CachedResponse.acceptGzip("");
+        assert !CachedResponse.acceptGzip("deflate, br");
+        assert !CachedResponse.acceptGzip("gzipx");
+        assert !CachedResponse.acceptGzip("gzip;q=0");
+        assert !CachedResponse.acceptGzip("gzip;q=0.0");
+        assert !CachedResponse.acceptGzip("gzip ; q = 0.00");
+        assert !CachedResponse.acceptGzip("gzip;q=abc");
+    }
+
+    @Test
+    public void successResult() {
+        HttpStub stub = new HttpStub();
+        BaseController controller = new BaseController(stub.request());
+        CachedResponse cached = new CachedResponse();
+        AtomicInteger loads = new AtomicInteger();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(stub.request(), stub.response()));
+        try {
+            assert controller.successResult(cached, 1, () -> {
+                loads.incrementAndGet();
+                return "dictionary";
+            }) == null;
+            assert controller.successResult(cached, 1, () -> {
+                loads.incrementAndGet();
+                return "other";
+            }) == null;
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+        assert loads.get() == 1;
+        byte[] body = cached.get(1, () -> null).getBody();
+        String json = new String(body, StandardCharsets.UTF_8);
+        assert json.contains("dictionary");
+        // 内容长度为字节数，默认消息包含多字节字符
+        assert stub.contentLength == body.length;
+        // 两次请求写入同一份序列化结果
+        assert new String(stub.body.toByteArray(), StandardCharsets.UTF_8).equals(json + json);
+    }
+
+    /**
+     * 基于 {@link Proxy} 的请求和响应替身，记录写入响应的请求头、状态码和内容
+     */
+    private static class HttpStub {
+
+        private final Map<String, String> requestHeaders = new HashMap<>(4);
+
+        private final Map<String, String> headers = new HashMap<>(4);
+
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        private int status = HttpServletResponse.SC_OK;
+
+        private String contentType = null;
+
+        private int contentLength = -1;
+
+        private boolean flushed = false;
+
+        private HttpServletRequest request() {
+            return (HttpServletRequest) Proxy.newProxyInstance(getClass().getClassLoader(),
+                                                               new Class<?>[]{HttpServletRequest.class},
+                                                               (proxy, method, args) -> {
+                if ("getHeader".equals(method.getName())) {
+                    return requestHeaders.get((String) args[0]);
+                }
+                throw new UnsupportedOperationException(method.getName());
+            });
+        }
+
+        private HttpServletResponse response() {
+            return (HttpServletResponse) Proxy.newProxyInstance(getClass().getClassLoader(),
+                                                                new Class<?>[]{HttpServletResponse.class},
+                                                                (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "setHeader":
+                        headers.put((String) args[0], (String) args[1]);
+                        return null;
+                    case "setStatus":
+                        status = (int) args[0];
+                        return null;
+                    case "setContentType":
+                        contentType = (String) args[0];
+                        return null;
+                    case "setContentLength":
+                        contentLength = (int) args[0];
+                        return null;
+                    case "getOutputStream":
+                        return new BodyStream();
+                    case "flushBuffer":
+                        flushed = true;
+                        return null;
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+        }
+
+        private class BodyStream extends ServletOutputStream {
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                throw new UnsupportedOperationException("setWriteListener");
+            }
+
+            @Override
+            public void write(int b) {
+                body.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                body.write(b, off, len);
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package org.code4everything.boot.web.mvc;
+
+import org.junit.Test;
+
+public class CompiledFilterPathTest {
+
+    @Test
+    public void match() {
+        FilterPath filterPath = FilterPath.create().setBlackPrefixes(new String[]{"/admin/secret"});
+        filterPath.setWhitePrefixes(new String[]{"/common", "/admin/login"});
+        filterPath.setInterceptPrefixes(new String[]{"/admin", "/user"});
+        filterPath.setVisitIgnorePrefixes(new String[]{"/common/static"});
+        CompiledFilterPath compiled = CompiledFilterPath.compile(filterPath);
+
+        int mask = compiled.match("/admin/secret/key");
+        assert CompiledFilterPath.matches(mask, CompiledFilterPath.BLACK);
+        assert CompiledFilterPath.matches(mask, CompiledFilterPath.INTERCEPT);
+        assert !CompiledFilterPath.matches(mask, CompiledFilterPath.WHITE);
+
+        mask = compiled.match("/common/static/app.js");
+        assert CompiledFilterPath.matches(mask, CompiledFilterPath.WHITE);
+        assert CompiledFilterPath.matches(mask, CompiledFilterPath.VISIT_IGNORE);
+
+        assert compiled.match("/adm") == 0;
+        assert compiled.match("/other") == 0;
+        assert CompiledFilterPath.compile(null).match("/admin") == 0;
+    }
+}
@@ -0,0 +1,48 @@
+package org.code4everything.boot.web.mvc;
+
+import cn.hutool.core.thread.ThreadUtil;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class FrequencyLimiterTest {
+
+    @Test
+    public void tryAcquire() {
+        FrequencyLimiter limiter = new FrequencyLimiter(200);
+        assert limiter.tryAcquire("test");
+        assert !limiter.tryAcquire("test");
+        assert limiter.tryAcquire("other");
+        ThreadUtil.sleep(250);
+        assert limiter.tryAcquire("test");
+    }
+
+    @Test
+    public void permits() {
+        FrequencyLimiter limiter = new FrequencyLimiter(1000, 3);
+        for (int i = 0; i < 3; i++) {
+            assert limiter.tryAcquire("test");
+        }
+        assert !limiter.tryAcquire("test");
+    }
+
+    @Test
+    public void concurrent() throws InterruptedException {
+        FrequencyLimiter limiter = new FrequencyLimiter(10000);
+        AtomicInteger passed = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(8);
+        for (int i = 0; i < 8; i++) {
+            ThreadUtil.execute(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    if (limiter.tryAcquire("test")) {
+                        passed.incrementAndGet();
+                    }
+                }
+                latch.countDown();
+            });
+        }
+        latch.await();
+        assert passed.get() == 1;
+    }
+}
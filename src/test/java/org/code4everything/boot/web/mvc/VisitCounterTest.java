@@ -0,0 +1,142 @@
+package org.code4everything.boot.web.mvc;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author pantao
+ * @since 1.1.6
+ */
+public class VisitCounterTest {
+
+    @After
+    public void tearDown() {
+        DefaultWebInterceptor.setVisitLog(false);
+        DefaultWebInterceptor.setVisitTopK(0);
+    }
+
+    @Test
+    public void count() {
+        VisitCounter counter = new VisitCounter();
+        counter.count("god", "/user");
+        counter.count("god", "/user");
+        counter.count(null, "/index");
+        assert counter.getUserVisitMap(false).get("god") == 2;
+        assert counter.getUrlVisitMap(false).keySet().iterator().next().equals("/user");
+        assert counter.getTotalVisit(false) == 3;
+
+        VisitCounter other = counter.newEmpty();
+        other.count("god", "/index");
+        counter.merge(other);
+        assert counter.getUserVisitMap(true).get("god") == 3;
+        assert counter.getUrlVisitMap(false).get("/index") == 2;
+        assert counter.getTotalVisit(true) == 4;
+        assert counter.getUserVisitMap(false).isEmpty() && counter.getTotalVisit(false) == 0;
+
+        VisitCounter top = new VisitCounter(2);
+        for (int i = 0; i < 100; i++) {
+            top.count("user-" + i, "/url-" + i % 3);
+        }
+        assert top.getUserVisitMap(false).size() == 2;
+        assert top.getUrlVisitMap(false).size() == 2;
+        VisitCounter merged = top.newEmpty();
+        merged.merge(top);
+        assert merged.getUrlVisitMap(false).size() == 2 && merged.getTotalVisit(false) == 100;
+    }
+
+    @Test
+    public void snapshotAndReset() throws InterruptedException {
+        DefaultWebInterceptor.setVisitLog(true);
+        int threads = 4;
+        int visits = 20000;
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            String user = "user-" + t;
+            workers[t] = new Thread(() -> {
+                for (int i = 0; i < visits; i++) {
+                    // 与请求线程相同：先取当前计数器再累加，期间计数器可能已被替换
+                    DefaultWebInterceptor.getVisitCounter().count(user, "/visit");
+                }
+            });
+            workers[t].start();
+        }
+        List<VisitCounter> snapshots = new ArrayList<>();
+        Thread swapper = new Thread(() -> {
+            while (running.get()) {
+                snapshots.add(DefaultWebInterceptor.snapshotAndReset());
+                Thread.yield();
+            }
+        });
+        swapper.start();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        running.set(false);
+        swapper.join();
+        snapshots.add(DefaultWebInterceptor.getVisitCounter());
+        assert snapshots.size() > 1;
+
+        // 所有访问都计入了某一个计数器，不会丢失也不会重复
+        long total = 0;
+        Map<String, Long> users = new HashMap<>(8);
+        long urls = 0;
+        for (VisitCounter snapshot : snapshots) {
+            total += snapshot.getTotalVisit(false);
+            snapshot.getUserVisitMap(false).forEach((key, count) -> users.merge(key, count, Long::sum));
+            urls += snapshot.getUrlVisitMap(false).getOrDefault("/visit", 0L);
+        }
+        assert total == (long) threads * visits;
+        assert urls == total;
+        assert users.size() == threads && users.values().stream().allMatch(count -> count == visits);
+    }
+
+    @Test
+    public void handleVisitLog() {
+        DefaultWebInterceptor.setVisitLog(true);
+        AtomicBoolean save = new AtomicBoolean(false);
+        AtomicInteger calls = new AtomicInteger();
+        Map<String, Long> received = new HashMap<>(4);
+        DefaultWebInterceptor interceptor = new DefaultWebInterceptor(new PathFilterHandler() {
+            @Override
+            public boolean handleVisitLog(Date date, Map<String, Long> userVisit, Map<String, Long> urlVisit,
+                                          long totalVisit) {
+                calls.incrementAndGet();
+                received.clear();
+                received.putAll(userVisit);
+                received.put("total", totalVisit);
+                return save.get();
+            }
+        });
+        DefaultWebInterceptor.getVisitCounter().count("god", "/user");
+        DefaultWebInterceptor.getVisitCounter().count("god", "/user");
+
+        // 保存失败时统计数据合并回当前计数器
+        interceptor.handleVisitLog();
+        assert calls.get() == 1 && received.get("god") == 2 && received.get("total") == 2;
+        DefaultWebInterceptor.getVisitCounter().count("god", "/index");
+        assert DefaultWebInterceptor.getUserVisitMap(false).get("god") == 3;
+        assert DefaultWebInterceptor.getUrlVisitMap(false).get("/user") == 2;
+        assert DefaultWebInterceptor.getTotalVisit(false) == 3;
+
+        // 保存成功后清空
+        save.set(true);
+        interceptor.handleVisitLog();
+        assert calls.get() == 2 && received.get("god") == 3 && received.get("total") == 3;
+        assert DefaultWebInterceptor.getUserVisitMap(false).isEmpty();
+        assert DefaultWebInterceptor.getTotalVisit(false) == 0;
+
+        // 未开启访问统计时不回调
+        DefaultWebInterceptor.setVisitLog(false);
+        interceptor.handleVisitLog();
+        assert calls.get() == 2;
+    }
+}